@@ -0,0 +1,126 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Creates the input documents of the benchmarks. The documents are generated in memory,
+ * so that the results do not depend on the files available on the machine and are reproducible.
+ */
+public final class BenchmarkDocuments {
+
+    /**
+     * Font used by the font and layout benchmarks.
+     */
+    public static final String FONT = "com/itextpdf/benchmarks/fonts/FreeSans.ttf";
+
+    public static final String TEXT = "iText is a library for creating and manipulating PDF files. "
+            + "The quick brown fox jumps over the lazy dog, 0123456789.";
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Creates the document with the given number of pages, each page contains lines of text and some graphics.
+     *
+     * @param numberOfPages   number of pages.
+     * @param fullCompression whether to write the document with object and cross-reference streams.
+     * @return the document bytes.
+     */
+    public static byte[] createTextDocument(int numberOfPages, boolean fullCompression) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFullCompressionMode(fullCompression)));
+        writeTextPages(pdfDocument, numberOfPages);
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Adds the pages with lines of text and some graphics to the document.
+     *
+     * @param pdfDocument   the document.
+     * @param numberOfPages number of pages.
+     */
+    public static void writeTextPages(PdfDocument pdfDocument, int numberOfPages) throws IOException {
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 1; i <= numberOfPages; i++) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 10).moveText(36, 800);
+            for (int line = 0; line < 50; line++) {
+                canvas.showText(i + "." + line + " " + TEXT).moveText(0, -14);
+            }
+            canvas.endText();
+            for (int k = 0; k < 20; k++) {
+                canvas.rectangle(36 + k * 25, 20, 20, 20).stroke();
+            }
+            canvas.release();
+        }
+    }
+
+    /**
+     * Reads the benchmark font.
+     *
+     * @return the font file bytes.
+     */
+    public static byte[] readFont() throws IOException {
+        InputStream stream = BenchmarkDocuments.class.getClassLoader().getResourceAsStream(FONT);
+        try {
+            return StreamUtil.inputStreamToArray(stream);
+        } finally {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks.kernel;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.color.DeviceRgb;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing of content stream operators by {@link PdfCanvas}, the throughput is given in operators per second.
+ * The content stream is reset after each invocation, so that the allocation rate reported by {@code -prof gc}
+ * does not include the growth of the content stream buffer, but only the allocations made per operator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PdfCanvasBenchmark {
+
+    private static final int OPERATORS = 1000;
+
+    private PdfDocument document;
+    private PdfCanvas canvas;
+    private ByteArrayOutputStream content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        canvas = new PdfCanvas(document.addNewPage());
+        content = (ByteArrayOutputStream) canvas.getContentStream().getOutputStream().getOutputStream();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        content.reset();
+        document.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATORS)
+    public ByteArrayOutputStream pathOperators() {
+        for (int i = 0; i < OPERATORS / 2; i++) {
+            canvas.moveTo(i * 0.75, 842 - i * 1.5)
+                    .lineTo(595 - i * 0.25, i + 0.125);
+        }
+        content.reset();
+        return content;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATORS)
+    public ByteArrayOutputStream rectangleAndColorOperators() {
+        for (int i = 0; i < OPERATORS / 4; i++) {
+            canvas.setFillColor(new DeviceRgb(i % 255, 128, 255 - i % 255))
+                    .rectangle(i * 0.5, i * 0.75, 10.25, 20.5)
+                    .fill()
+                    .setLineWidth(0.5f + i % 3);
+        }
+        content.reset();
+        return content;
+    }
+}
@@ -61,7 +61,6 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FontCache {
 
@@ -80,7 +79,7 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<String, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static volatile IFontProgramCache fontCache = new LruFontProgramCache();
 
     static {
         try {
@@ -163,18 +162,35 @@ public class FontCache {
 
     public static FontProgram getFont(String fontName) {
         String key = getFontCacheKey(fontName);
-        FontProgram font = null;
         return fontCache.get(key);
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
-        FontProgram fontFound = getFont(fontName);
-        if (fontFound != null) {
-            return fontFound;
-        }
         String key = getFontCacheKey(fontName);
-        fontCache.put(key, font);
-        return font;
+        return fontCache.put(key, font);
+    }
+
+    /**
+     * Gets the cache of the font programs created by {@link FontProgramFactory} with caching enabled.
+     * By default it is {@link LruFontProgramCache} bounded by {@link LruFontProgramCache#DEFAULT_MAX_SIZE}.
+     *
+     * @return the font program cache.
+     */
+    public static IFontProgramCache getFontProgramCache() {
+        return fontCache;
+    }
+
+    /**
+     * Sets the cache of the font programs created by {@link FontProgramFactory} with caching enabled.
+     * The font programs cached by the previous cache are not transferred to the new one.
+     *
+     * @param cache the font program cache.
+     */
+    public static void setFontProgramCache(IFontProgramCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("cache");
+        }
+        fontCache = cache;
     }
 
     private static void loadRegistry() throws java.io.IOException {
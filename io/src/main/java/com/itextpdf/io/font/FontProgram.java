@@ -46,9 +46,9 @@ package com.itextpdf.io.font;
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.io.util.IntObjectMap;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 
 public abstract class FontProgram implements Serializable {
@@ -58,10 +58,15 @@ public abstract class FontProgram implements Serializable {
     public static final int DEFAULT_WIDTH = 1000;
     public static final int UNITS_NORMALIZATION = 1000;
 
+    // Rough memory estimations used by size-bounded font program caches.
+    static final int ESTIMATED_BASE_SIZE = 1024;
+    static final int ESTIMATED_GLYPH_ENTRY_SIZE = 96;
+
     // In case Type1: char code to glyph.
     // In case TrueType: glyph index to glyph.
-    protected Map<Integer, Glyph> codeToGlyph = new HashMap<>();
-    protected Map<Integer, Glyph> unicodeToGlyph = new HashMap<>();
+    // Both maps are IntObjectMap by default, so that the glyphs are looked up without boxing the keys.
+    protected Map<Integer, Glyph> codeToGlyph = new IntObjectMap<>();
+    protected Map<Integer, Glyph> unicodeToGlyph = new IntObjectMap<>();
     protected boolean isFontSpecific;
 
     protected FontNames fontNames = new FontNames();
@@ -131,12 +136,12 @@ public abstract class FontProgram implements Serializable {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return lookUpGlyph(unicodeToGlyph, unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        return lookUpGlyph(codeToGlyph, charCode);
     }
 
     public boolean hasKernPairs() {
@@ -151,7 +156,7 @@ public abstract class FontProgram implements Serializable {
      * @return the kerning to be applied
      */
     public int getKerning(int first, int second) {
-        return getKerning(unicodeToGlyph.get(first), unicodeToGlyph.get(second));
+        return getKerning(lookUpGlyph(unicodeToGlyph, first), lookUpGlyph(unicodeToGlyph, second));
     }
 
     /**
@@ -285,10 +290,25 @@ public abstract class FontProgram implements Serializable {
         }
     }
 
+    /**
+     * Estimates the memory held by this font program, used by size-bounded font program caches,
+     * see {@link LruFontProgramCache}.
+     *
+     * @return estimated size in bytes.
+     */
+    long estimateSize() {
+        return ESTIMATED_BASE_SIZE + (long) (codeToGlyph.size() + unicodeToGlyph.size()) * ESTIMATED_GLYPH_ENTRY_SIZE;
+    }
+
     protected void fixSpaceIssue() {
         Glyph space = unicodeToGlyph.get(32);
         if (space != null) {
             codeToGlyph.put(space.getCode(), space);
         }
     }
+
+    private static Glyph lookUpGlyph(Map<Integer, Glyph> glyphs, int key) {
+        // subclasses may replace the maps with other implementations
+        return glyphs instanceof IntObjectMap ? ((IntObjectMap<Glyph>) glyphs).get(key) : glyphs.get(key);
+    }
 }
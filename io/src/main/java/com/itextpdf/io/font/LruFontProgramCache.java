@@ -0,0 +1,258 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Default {@link IFontProgramCache} implementation. Font programs are kept in least recently used order
+ * and the cache is bounded by the estimated memory size of the cached font programs. When the size is exceeded,
+ * the least recently used font programs are evicted. The evicted font programs are still kept by soft references,
+ * so that they are returned until garbage collector needs the memory.
+ * <br/>
+ * Hit, miss and eviction counters are available to monitor the cache.
+ */
+public class LruFontProgramCache implements IFontProgramCache {
+
+    /**
+     * Default maximum estimated size of the cached font programs, 64 MB.
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    private final long maxSize;
+    private final LinkedHashMap<String, CacheEntry> programs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SoftProgramReference> evictedPrograms = new HashMap<>();
+    private final ReferenceQueue<FontProgram> clearedPrograms = new ReferenceQueue<>();
+    private long size;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates the cache bounded by {@link #DEFAULT_MAX_SIZE}.
+     */
+    public LruFontProgramCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates the cache bounded by the given size.
+     *
+     * @param maxSize maximum estimated size of the cached font programs in bytes.
+     */
+    public LruFontProgramCache(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal max size: {0}", maxSize));
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized FontProgram get(String key) {
+        expungeClearedPrograms();
+        CacheEntry entry = programs.get(key);
+        if (entry != null) {
+            hitCount++;
+            return entry.fontProgram;
+        }
+        SoftProgramReference reference = evictedPrograms.remove(key);
+        FontProgram fontProgram = reference != null ? reference.get() : null;
+        if (fontProgram != null) {
+            hitCount++;
+            // the font program is still in use, make it recently used again
+            putEntry(key, fontProgram);
+            return fontProgram;
+        }
+        missCount++;
+        return null;
+    }
+
+    @Override
+    public synchronized FontProgram put(String key, FontProgram fontProgram) {
+        expungeClearedPrograms();
+        CacheEntry entry = programs.get(key);
+        if (entry != null) {
+            return entry.fontProgram;
+        }
+        SoftProgramReference reference = evictedPrograms.remove(key);
+        FontProgram evictedProgram = reference != null ? reference.get() : null;
+        if (evictedProgram != null) {
+            fontProgram = evictedProgram;
+        }
+        putEntry(key, fontProgram);
+        return fontProgram;
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        CacheEntry entry = programs.remove(key);
+        if (entry != null) {
+            size -= entry.size;
+        }
+        evictedPrograms.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        programs.clear();
+        evictedPrograms.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the maximum estimated size of the cached font programs.
+     *
+     * @return maximum size in bytes.
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the estimated size of the font programs kept by the cache, evicted font programs are not counted.
+     *
+     * @return size in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of font programs kept by the cache, evicted font programs are not counted.
+     *
+     * @return number of cached font programs.
+     */
+    public synchronized int getCount() {
+        return programs.size();
+    }
+
+    /**
+     * Gets the number of requests which returned a cached font program,
+     * including the evicted font programs which were not yet collected.
+     *
+     * @return number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of requests for font programs which were not cached.
+     *
+     * @return number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of font programs evicted because the maximum size was exceeded.
+     *
+     * @return number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Estimates the memory held by the font program. The estimation is rough, it takes into account
+     * the number of glyphs and the font data size.
+     *
+     * @param fontProgram the font program to be cached.
+     * @return estimated size in bytes.
+     */
+    protected long estimateSize(FontProgram fontProgram) {
+        return fontProgram.estimateSize();
+    }
+
+    private void putEntry(String key, FontProgram fontProgram) {
+        CacheEntry entry = new CacheEntry(fontProgram, estimateSize(fontProgram));
+        programs.put(key, entry);
+        size += entry.size;
+        Iterator<Map.Entry<String, CacheEntry>> iterator = programs.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue().size;
+            evictedPrograms.put(eldest.getKey(),
+                    new SoftProgramReference(eldest.getKey(), eldest.getValue().fontProgram, clearedPrograms));
+            evictionCount++;
+        }
+    }
+
+    private void expungeClearedPrograms() {
+        SoftProgramReference reference;
+        while ((reference = (SoftProgramReference) clearedPrograms.poll()) != null) {
+            if (evictedPrograms.get(reference.key) == reference) {
+                evictedPrograms.remove(reference.key);
+            }
+        }
+    }
+
+    private static class CacheEntry {
+        final FontProgram fontProgram;
+        final long size;
+
+        CacheEntry(FontProgram fontProgram, long size) {
+            this.fontProgram = fontProgram;
+            this.size = size;
+        }
+    }
+
+    private static class SoftProgramReference extends SoftReference<FontProgram> {
+        final String key;
+
+        SoftProgramReference(String key, FontProgram fontProgram, ReferenceQueue<FontProgram> queue) {
+            super(fontProgram, queue);
+            this.key = key;
+        }
+    }
+}
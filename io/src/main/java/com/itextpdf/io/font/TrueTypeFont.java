@@ -50,9 +50,9 @@ import com.itextpdf.io.font.otf.GlyphPositioningTableReader;
 import com.itextpdf.io.font.otf.GlyphSubstitutionTableReader;
 import com.itextpdf.io.font.otf.OpenTypeGdefTableReader;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectMap;
 
 import java.text.MessageFormat;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -72,6 +72,11 @@ public class TrueTypeFont extends FontProgram {
     private GlyphSubstitutionTableReader gsubTable;
     private GlyphPositioningTableReader gposTable;
     private OpenTypeGdefTableReader gdefTable;
+    /**
+     * Layout tables (GDEF, GSUB and GPOS) are parsed on first access, they are not needed
+     * unless advanced typography is applied, but are usually the largest tables of the font.
+     */
+    private volatile boolean layoutTablesRead;
 
     /**
      * The map containing the kerning information. It represents the content of
@@ -164,6 +169,25 @@ public class TrueTypeFont extends FontProgram {
         return fontStreamBytes;
     }
 
+    @Override
+    long estimateSize() {
+        long size = super.estimateSize() + (long) kerning.size() * 16;
+        if (bBoxes != null) {
+            size += (long) bBoxes.length * 32;
+        }
+        if (fontStreamBytes != null) {
+            size += fontStreamBytes.length;
+        }
+        if (fontParser != null) {
+            // the font data is counted regardless of whether it is held in memory or read from file
+            try {
+                size += fontParser.raf.length();
+            } catch (java.io.IOException ignored) {
+            }
+        }
+        return size;
+    }
+
     @Override
     public int getPdfFontFlags() {
         int flags = 0;
@@ -189,14 +213,17 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        ensureLayoutTablesRead();
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        ensureLayoutTablesRead();
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        ensureLayoutTablesRead();
         return gdefTable;
     }
 
@@ -310,8 +337,8 @@ public class TrueTypeFont extends FontProgram {
 
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(glyphWidths.length);
+        unicodeToGlyph = new IntObjectMap<>();
+        codeToGlyph = new IntObjectMap<>();
         avgWidth = 0;
         for (int charCode : cmap.keySet()) {
             int index = cmap.get(charCode)[0];
@@ -343,13 +370,32 @@ public class TrueTypeFont extends FontProgram {
             avgWidth /= codeToGlyph.size();
         }
 
-        readGdefTable();
-        readGsubTable();
-        readGposTable();
-
         isVertical = false;
     }
 
+    /**
+     * Parses GDEF, GSUB and GPOS tables on first request. The font program may be shared
+     * by several threads, so the tables are read once under the lock.
+     */
+    private void ensureLayoutTablesRead() {
+        if (!layoutTablesRead) {
+            synchronized (this) {
+                if (!layoutTablesRead) {
+                    if (fontParser != null) {
+                        try {
+                            readGdefTable();
+                            readGsubTable();
+                            readGposTable();
+                        } catch (java.io.IOException e) {
+                            throw new IOException(IOException.IoException, e);
+                        }
+                    }
+                    layoutTablesRead = true;
+                }
+            }
+        }
+    }
+
     /**
      * Gets the code pages supported by the font.
      *
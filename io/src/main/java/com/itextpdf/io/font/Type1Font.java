@@ -174,6 +174,15 @@ public class Type1Font extends FontProgram {
         }
     }
 
+    @Override
+    long estimateSize() {
+        long size = super.estimateSize() + (long) kernPairs.size() * ESTIMATED_GLYPH_ENTRY_SIZE;
+        if (fontStreamBytes != null) {
+            size += fontStreamBytes.length;
+        }
+        return size;
+    }
+
     public byte[] getFontStreamBytes() {
         if (fontParser.isBuiltInFont())
             return null;
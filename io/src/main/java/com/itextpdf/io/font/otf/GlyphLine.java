@@ -232,20 +232,27 @@ public class GlyphLine {
     }
 
     public GlyphLine filter(IGlyphLineFilter filter) {
-        boolean anythingFiltered = false;
-        List<Glyph> filteredGlyphs = new ArrayList<>(end - start);
-        List<ActualText> filteredActualText = actualText != null ? new ArrayList<ActualText>(end - start) : null;
+        // the filtered lists are only created when the first glyph is filtered out, as most of the lines are kept as is
+        List<Glyph> filteredGlyphs = null;
+        List<ActualText> filteredActualText = null;
         for (int i = start; i < end; i++) {
             if (filter.accept(glyphs.get(i))) {
-                filteredGlyphs.add(glyphs.get(i));
-                if (filteredActualText != null) {
-                    filteredActualText.add(actualText.get(i));
+                if (filteredGlyphs != null) {
+                    filteredGlyphs.add(glyphs.get(i));
+                    if (filteredActualText != null) {
+                        filteredActualText.add(actualText.get(i));
+                    }
+                }
+            } else if (filteredGlyphs == null) {
+                filteredGlyphs = new ArrayList<>(end - start - 1);
+                filteredGlyphs.addAll(glyphs.subList(start, i));
+                if (actualText != null) {
+                    filteredActualText = new ArrayList<>(end - start - 1);
+                    filteredActualText.addAll(actualText.subList(start, i));
                 }
-            } else {
-                anythingFiltered = true;
             }
         }
-        if (anythingFiltered) {
+        if (filteredGlyphs != null) {
             return new GlyphLine(filteredGlyphs, filteredActualText, 0, filteredGlyphs.size());
         } else {
             return this;
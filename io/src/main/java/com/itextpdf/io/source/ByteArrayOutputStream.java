@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.source;
 
+import java.util.Arrays;
+
 public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
 
     public ByteArrayOutputStream() {
@@ -53,6 +55,36 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
         super(size);
     }
 
+    /**
+     * Writes the byte to this stream. Unlike {@link java.io.ByteArrayOutputStream#write(int)}
+     * the method is not synchronized, the stream is not intended to be shared between threads.
+     *
+     * @param b the byte to be written.
+     */
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    /**
+     * Writes {@code len} bytes from the array starting at {@code off} to this stream. Unlike
+     * {@link java.io.ByteArrayOutputStream#write(byte[], int, int)} the method is not synchronized.
+     *
+     * @param b   the data.
+     * @param off the start offset in the data.
+     * @param len the number of bytes to write.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
     public ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
         buf = bytes;
         this.count = count;
@@ -65,4 +97,16 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
         return this;
     }
 
+    /**
+     * Ensures that the internal buffer can hold at least {@code minCapacity} bytes,
+     * grows the buffer the same way as {@link java.io.ByteArrayOutputStream} does.
+     */
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+        }
+    }
 }
@@ -147,6 +147,37 @@ public class ByteBuffer implements Serializable {
         return this;
     }
 
+    /**
+     * Makes sure that the internal buffer is able to hold at least the specified number of bytes.
+     * The bytes already written to the buffer are kept.
+     *
+     * @param minCapacity the required capacity.
+     * @return this {@code ByteBuffer}.
+     */
+    public ByteBuffer ensureCapacity(int minCapacity) {
+        if (minCapacity > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length << 1, minCapacity)];
+            System.arraycopy(buffer, 0, newBuffer, 0, count);
+            buffer = newBuffer;
+        }
+        return this;
+    }
+
+    /**
+     * Sets the number of the valid bytes in the buffer, e.g. after the bytes were written
+     * directly to the {@link #getInternalBuffer() internal buffer}.
+     *
+     * @param size the new size, must not exceed the {@link #capacity() capacity}.
+     * @return this {@code ByteBuffer}.
+     */
+    public ByteBuffer setSize(int size) {
+        if (size < 0 || size > buffer.length) {
+            throw new IndexOutOfBoundsException(MessageFormat.format("Size: {0}, Capacity: {1}", size, buffer.length));
+        }
+        count = size;
+        return this;
+    }
+
     public byte[] toByteArray(int off, int len) {
         byte[] newBuf = new byte[len];
         System.arraycopy(buffer, off, newBuf, 0, len);
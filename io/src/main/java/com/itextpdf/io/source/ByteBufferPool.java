@@ -0,0 +1,149 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of {@link ByteBuffer} instances, which allows to reuse the buffers used for tokenizing and for decoding
+ * of the streams, instead of allocating the new ones for every object and page.
+ * <br/>
+ * The number of pooled buffers is bounded, and the buffers which have grown larger than the maximum retained
+ * capacity are not returned to the pool, so that a single huge stream doesn't keep its memory alive.
+ * The pool is thread safe and can be shared between documents.
+ */
+public class ByteBufferPool {
+
+    /**
+     * Default maximum number of the buffers kept in the pool.
+     */
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 32;
+
+    /**
+     * Default maximum capacity of the buffer kept in the pool, 1 MB.
+     */
+    public static final int DEFAULT_MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+    private final int maxPooledBuffers;
+    private final int maxRetainedCapacity;
+
+    /**
+     * Creates the pool with the default limits.
+     */
+    public ByteBufferPool() {
+        this(DEFAULT_MAX_POOLED_BUFFERS, DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    /**
+     * Creates the pool with the specified limits.
+     *
+     * @param maxPooledBuffers    maximum number of the buffers kept in the pool.
+     * @param maxRetainedCapacity maximum capacity of the buffer kept in the pool, larger buffers are discarded on release.
+     */
+    public ByteBufferPool(int maxPooledBuffers, int maxRetainedCapacity) {
+        if (maxPooledBuffers < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal number of pooled buffers: {0}", maxPooledBuffers));
+        }
+        if (maxRetainedCapacity < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal retained capacity: {0}", maxRetainedCapacity));
+        }
+        this.maxPooledBuffers = maxPooledBuffers;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    /**
+     * Takes an empty buffer from the pool, or creates a new one if the pool is empty.
+     * The buffer should be {@link #release(ByteBuffer) released} when it is not needed anymore.
+     *
+     * @return the empty buffer.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer;
+        synchronized (buffers) {
+            buffer = buffers.pollFirst();
+        }
+        return buffer != null ? buffer : new ByteBuffer();
+    }
+
+    /**
+     * Takes an empty buffer with at least the specified capacity from the pool.
+     *
+     * @param minCapacity the required capacity.
+     * @return the empty buffer.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        return acquire().ensureCapacity(minCapacity);
+    }
+
+    /**
+     * Returns the buffer to the pool. The buffer must not be used by the caller after it was released.
+     *
+     * @param buffer the buffer to release, {@code null} is ignored.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() > maxRetainedCapacity) {
+            return;
+        }
+        buffer.reset();
+        synchronized (buffers) {
+            if (buffers.size() < maxPooledBuffers) {
+                buffers.addFirst(buffer);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the buffers currently kept in the pool.
+     *
+     * @return the number of pooled buffers.
+     */
+    public int getPooledCount() {
+        synchronized (buffers) {
+            return buffers.size();
+        }
+    }
+}
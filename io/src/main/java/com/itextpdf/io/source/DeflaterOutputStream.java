@@ -49,8 +49,28 @@ import java.util.zip.Deflater;
 
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    /**
+     * Indicates if the deflater was created by the stream, and so shall be ended when the stream is finished.
+     */
+    private final boolean ownsDeflater;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
         super(out, new Deflater(level), size);
+        ownsDeflater = true;
+    }
+
+    /**
+     * Creates the stream which compresses the data with the given deflater, e.g. the one taken from
+     * {@link FlateCoderPool}. The deflater is not ended when the stream is finished, the caller stays
+     * responsible for it.
+     *
+     * @param out      the output stream.
+     * @param deflater the deflater to compress the data with.
+     * @param size     the output buffer size.
+     */
+    public DeflaterOutputStream(OutputStream out, Deflater deflater, int size) {
+        super(out, deflater, size);
+        ownsDeflater = false;
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -70,6 +90,8 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
     @Override
     public void finish() throws IOException {
         super.finish();
-        def.end();
+        if (ownsDeflater) {
+            def.end();
+        }
     }
 }
@@ -0,0 +1,198 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A pool of {@link Deflater} and {@link Inflater} instances, which allows to reuse the native zlib
+ * state for every compressed or decompressed stream instead of allocating and releasing it for each of them.
+ * <br/>
+ * The number of pooled instances is bounded; instances which don't fit into the pool are ended on release.
+ * The pool is thread safe, the {@link #getInstance() shared instance} is used by default when the documents are
+ * written and read.
+ */
+public class FlateCoderPool {
+
+    /**
+     * Default maximum number of the deflaters and of the inflaters kept in the pool.
+     */
+    public static final int DEFAULT_MAX_POOLED_CODERS = 8;
+
+    private static final FlateCoderPool instance = new FlateCoderPool();
+
+    private final Deque<Deflater> deflaters = new ArrayDeque<>();
+    private final Deque<Inflater> inflaters = new ArrayDeque<>();
+    private final int maxPooledCoders;
+
+    /**
+     * Creates the pool with the default limit.
+     */
+    public FlateCoderPool() {
+        this(DEFAULT_MAX_POOLED_CODERS);
+    }
+
+    /**
+     * Creates the pool with the specified limit.
+     *
+     * @param maxPooledCoders maximum number of the deflaters and of the inflaters kept in the pool.
+     */
+    public FlateCoderPool(int maxPooledCoders) {
+        if (maxPooledCoders < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal number of pooled coders: {0}", maxPooledCoders));
+        }
+        this.maxPooledCoders = maxPooledCoders;
+    }
+
+    /**
+     * Gets the pool shared by all documents.
+     *
+     * @return the shared pool.
+     */
+    public static FlateCoderPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes a deflater from the pool, or creates a new one if the pool is empty.
+     * The deflater should be {@link #release(Deflater) released} when the stream is compressed.
+     *
+     * @param level    the compression level, see {@link Deflater#setLevel(int)}.
+     * @param strategy the compression strategy, see {@link Deflater#setStrategy(int)}.
+     * @return the deflater ready to compress a new stream.
+     */
+    public Deflater acquireDeflater(int level, int strategy) {
+        Deflater deflater;
+        synchronized (deflaters) {
+            deflater = deflaters.pollFirst();
+        }
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        } else {
+            // the parameters of the reset deflater are applied before any input, so the output is the same
+            // as for a newly created deflater
+            deflater.setLevel(level);
+        }
+        deflater.setStrategy(strategy);
+        return deflater;
+    }
+
+    /**
+     * Takes an inflater from the pool, or creates a new one if the pool is empty.
+     * The inflater should be {@link #release(Inflater) released} when the stream is decompressed.
+     *
+     * @return the inflater ready to decompress a new stream.
+     */
+    public Inflater acquireInflater() {
+        Inflater inflater;
+        synchronized (inflaters) {
+            inflater = inflaters.pollFirst();
+        }
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    /**
+     * Returns the deflater to the pool. The deflater must not be used by the caller after it was released.
+     *
+     * @param deflater the deflater to release, {@code null} is ignored.
+     */
+    public void release(Deflater deflater) {
+        if (deflater == null) {
+            return;
+        }
+        deflater.reset();
+        synchronized (deflaters) {
+            if (deflaters.size() < maxPooledCoders) {
+                deflaters.addFirst(deflater);
+                return;
+            }
+        }
+        deflater.end();
+    }
+
+    /**
+     * Returns the inflater to the pool. The inflater must not be used by the caller after it was released.
+     *
+     * @param inflater the inflater to release, {@code null} is ignored.
+     */
+    public void release(Inflater inflater) {
+        if (inflater == null) {
+            return;
+        }
+        inflater.reset();
+        synchronized (inflaters) {
+            if (inflaters.size() < maxPooledCoders) {
+                inflaters.addFirst(inflater);
+                return;
+            }
+        }
+        inflater.end();
+    }
+
+    /**
+     * Gets the number of the deflaters currently kept in the pool.
+     *
+     * @return the number of pooled deflaters.
+     */
+    public int getPooledDeflaterCount() {
+        synchronized (deflaters) {
+            return deflaters.size();
+        }
+    }
+
+    /**
+     * Gets the number of the inflaters currently kept in the pool.
+     *
+     * @return the number of pooled inflaters.
+     */
+    public int getPooledInflaterCount() {
+        synchronized (inflaters) {
+            return inflaters.size();
+        }
+    }
+}
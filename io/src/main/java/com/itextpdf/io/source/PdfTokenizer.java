@@ -121,6 +121,10 @@ public class PdfTokenizer implements Closeable, Serializable {
      * Streams are closed automatically.
      */
     private boolean closeStream = true;
+    /**
+     * The pool the token buffer was taken from, it is returned to the pool on close.
+     */
+    private transient ByteBufferPool bufferPool;
 
     /**
      * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray}.
@@ -134,6 +138,20 @@ public class PdfTokenizer implements Closeable, Serializable {
         this.outBuf = new ByteBuffer();
     }
 
+    /**
+     * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray}, which takes its token buffer
+     * from the specified pool. The buffer is returned to the pool when the tokenizer is {@link #close() closed},
+     * thus the tokenizer must not be used after that.
+     *
+     * @param file       the source
+     * @param bufferPool the pool of the buffers, if {@code null} the token buffer is allocated as usual
+     */
+    public PdfTokenizer(RandomAccessFileOrArray file, ByteBufferPool bufferPool) {
+        this.file = file;
+        this.bufferPool = bufferPool;
+        this.outBuf = bufferPool != null ? bufferPool.acquire() : new ByteBuffer();
+    }
+
     public void seek(long pos) throws java.io.IOException {
         file.seek(pos);
     }
@@ -147,6 +165,10 @@ public class PdfTokenizer implements Closeable, Serializable {
     }
 
     public void close() throws java.io.IOException {
+        if (bufferPool != null) {
+            bufferPool.release(outBuf);
+            bufferPool = null;
+        }
         if (closeStream)
             file.close();
     }
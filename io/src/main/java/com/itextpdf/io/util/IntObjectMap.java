@@ -0,0 +1,374 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map with primitive int keys, which doesn't box the keys and doesn't allocate an entry per mapping.
+ * <br/>
+ * The keys from 0 to 0xFFFF, i.e. the BMP code points, glyph indices and CIDs, are stored in a dense two-level array,
+ * which pages are allocated on demand, so a lookup is just two array reads. Other keys are stored in a small
+ * open-addressing hash table. Null values are not stored: putting null removes the key.
+ * <br/>
+ * The class implements {@link Map} so that it can be passed where a {@code Map<Integer, V>} is expected,
+ * but the primitive {@link #get(int)}, {@link #put(int, Object)} and {@link #containsKey(int)} methods
+ * shall be used on hot paths. Like {@link java.util.HashMap}, the map is not synchronized; it can be read
+ * from several threads once it is filled.
+ *
+ * @param <V> the type of the values.
+ */
+public class IntObjectMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -2874592838457593102L;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int DENSE_KEY_LIMIT = 0x10000;
+
+    private static final int MIN_OVERFLOW_CAPACITY = 8;
+
+    private Object[][] pages = new Object[DENSE_KEY_LIMIT >> PAGE_BITS][];
+
+    private int[] overflowKeys;
+    private Object[] overflowValues;
+    private int overflowCount;
+
+    private int size;
+
+    private transient Set<Map.Entry<Integer, V>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key the key.
+     * @return the value, or {@code null} if the key is not mapped.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if ((key & ~(DENSE_KEY_LIMIT - 1)) == 0) {
+            Object[] page = pages[key >>> PAGE_BITS];
+            return page != null ? (V) page[key & PAGE_MASK] : null;
+        }
+        if (overflowCount == 0) {
+            return null;
+        }
+        int index = findOverflowIndex(key);
+        return index >= 0 ? (V) overflowValues[index] : null;
+    }
+
+    /**
+     * Checks if the key is mapped.
+     *
+     * @param key the key.
+     * @return true if the key is mapped, false otherwise.
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value.
+     *
+     * @param key   the key.
+     * @param value the value, {@code null} removes the key.
+     * @return the previous value mapped to the key, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        if ((key & ~(DENSE_KEY_LIMIT - 1)) == 0) {
+            Object[] page = pages[key >>> PAGE_BITS];
+            if (page == null) {
+                page = pages[key >>> PAGE_BITS] = new Object[PAGE_SIZE];
+            }
+            Object old = page[key & PAGE_MASK];
+            page[key & PAGE_MASK] = value;
+            if (old == null) {
+                size++;
+            }
+            return (V) old;
+        }
+        if (overflowKeys == null || (overflowCount + 1) * 4 > overflowKeys.length * 3) {
+            resizeOverflow(overflowKeys == null ? MIN_OVERFLOW_CAPACITY : overflowKeys.length * 2);
+        }
+        int mask = overflowKeys.length - 1;
+        int index = hash(key) & mask;
+        while (overflowValues[index] != null) {
+            if (overflowKeys[index] == key) {
+                Object old = overflowValues[index];
+                overflowValues[index] = value;
+                return (V) old;
+            }
+            index = (index + 1) & mask;
+        }
+        overflowKeys[index] = key;
+        overflowValues[index] = value;
+        overflowCount++;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key the key.
+     * @return the value which was mapped to the key, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if ((key & ~(DENSE_KEY_LIMIT - 1)) == 0) {
+            Object[] page = pages[key >>> PAGE_BITS];
+            if (page == null || page[key & PAGE_MASK] == null) {
+                return null;
+            }
+            Object old = page[key & PAGE_MASK];
+            page[key & PAGE_MASK] = null;
+            size--;
+            return (V) old;
+        }
+        if (overflowCount == 0) {
+            return null;
+        }
+        int index = findOverflowIndex(key);
+        if (index < 0) {
+            return null;
+        }
+        Object old = overflowValues[index];
+        removeOverflowAt(index);
+        overflowCount--;
+        size--;
+        return (V) old;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        pages = new Object[DENSE_KEY_LIMIT >> PAGE_BITS][];
+        overflowKeys = null;
+        overflowValues = null;
+        overflowCount = 0;
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * The entries with the keys from 0 to 0xFFFF are iterated in the ascending order of the keys,
+     * the other entries follow them. The set doesn't support removal.
+     */
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, V>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int findOverflowIndex(int key) {
+        int mask = overflowKeys.length - 1;
+        int index = hash(key) & mask;
+        while (overflowValues[index] != null) {
+            if (overflowKeys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry with linear probing deletion: the following entries of the same cluster
+     * are shifted back, so that no tombstones are needed.
+     */
+    private void removeOverflowAt(int index) {
+        int mask = overflowKeys.length - 1;
+        int free = index;
+        int next = (index + 1) & mask;
+        while (overflowValues[next] != null) {
+            int ideal = hash(overflowKeys[next]) & mask;
+            // the entry can fill the free slot if its ideal slot isn't between the free slot and itself
+            if (((next - ideal) & mask) >= ((next - free) & mask)) {
+                overflowKeys[free] = overflowKeys[next];
+                overflowValues[free] = overflowValues[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        overflowKeys[free] = 0;
+        overflowValues[free] = null;
+    }
+
+    private void resizeOverflow(int capacity) {
+        int[] oldKeys = overflowKeys;
+        Object[] oldValues = overflowValues;
+        overflowKeys = new int[capacity];
+        overflowValues = new Object[capacity];
+        if (oldKeys != null) {
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    int index = hash(oldKeys[i]) & mask;
+                    while (overflowValues[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    overflowKeys[index] = oldKeys[i];
+                    overflowValues[index] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+        // position in the dense keys, then in the overflow table
+        private int position = -1;
+        private int nextPosition = -1;
+
+        EntryIterator() {
+            nextPosition = findNext(-1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextPosition >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<Integer, V> next() {
+            if (nextPosition < 0) {
+                throw new NoSuchElementException();
+            }
+            position = nextPosition;
+            nextPosition = findNext(position);
+            if (position < DENSE_KEY_LIMIT) {
+                return new SimpleImmutableEntry<>(position, (V) pages[position >>> PAGE_BITS][position & PAGE_MASK]);
+            } else {
+                int index = position - DENSE_KEY_LIMIT;
+                return new SimpleImmutableEntry<>(overflowKeys[index], (V) overflowValues[index]);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private int findNext(int from) {
+            int candidate = from + 1;
+            while (candidate < DENSE_KEY_LIMIT) {
+                Object[] page = pages[candidate >>> PAGE_BITS];
+                if (page == null) {
+                    candidate = (candidate | PAGE_MASK) + 1;
+                } else if (page[candidate & PAGE_MASK] != null) {
+                    return candidate;
+                } else {
+                    candidate++;
+                }
+            }
+            if (overflowValues != null) {
+                for (int index = candidate - DENSE_KEY_LIMIT; index < overflowValues.length; index++) {
+                    if (overflowValues[index] != null) {
+                        return index + DENSE_KEY_LIMIT;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.itextpdf.io.font;
 
+import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
 import org.junit.Test;
@@ -7,6 +8,7 @@ import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.LinkedHashMap;
 
 @Category(UnitTest.class)
 public class FontProgramTest {
@@ -29,4 +31,26 @@ public class FontProgramTest {
         fp.setBold(false);
         Assert.assertTrue("Not Bold expected", (fp.getPdfFontFlags() & (1 << 18)) == 0);
     }
+
+    @Test
+    public void customGlyphMapTest() {
+        FontProgram fp = new FontProgram() {
+            {
+                unicodeToGlyph = new LinkedHashMap<>();
+                unicodeToGlyph.put((int) 'A', new Glyph(1, 600, 'A'));
+            }
+
+            @Override
+            public int getPdfFontFlags() {
+                return 0;
+            }
+
+            @Override
+            public int getKerning(Glyph first, Glyph second) {
+                return 0;
+            }
+        };
+        Assert.assertEquals(1, fp.getGlyph('A').getCode());
+        Assert.assertNull(fp.getGlyph('B'));
+    }
 }
@@ -0,0 +1,75 @@
+package com.itextpdf.io.font;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+
+@Category(UnitTest.class)
+public class LruFontProgramCacheTest {
+
+    @Test
+    public void hitAndMissTest() throws IOException {
+        LruFontProgramCache cache = new LruFontProgramCache();
+        FontProgram helvetica = FontProgramFactory.createFont(FontConstants.HELVETICA, false);
+
+        Assert.assertNull(cache.get(FontConstants.HELVETICA));
+        Assert.assertSame(helvetica, cache.put(FontConstants.HELVETICA, helvetica));
+        Assert.assertSame(helvetica, cache.get(FontConstants.HELVETICA));
+        // the cached font program is kept
+        Assert.assertSame(helvetica, cache.put(FontConstants.HELVETICA, FontProgramFactory.createFont(FontConstants.HELVETICA, false)));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertEquals(helvetica.estimateSize(), cache.getSize());
+
+        cache.remove(FontConstants.HELVETICA);
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertNull(cache.get(FontConstants.HELVETICA));
+    }
+
+    @Test
+    public void evictionTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(FontConstants.HELVETICA, false);
+        FontProgram courier = FontProgramFactory.createFont(FontConstants.COURIER, false);
+        FontProgram times = FontProgramFactory.createFont(FontConstants.TIMES_ROMAN, false);
+        long maxSize = helvetica.estimateSize() + courier.estimateSize() + times.estimateSize() - 1;
+        LruFontProgramCache cache = new LruFontProgramCache(maxSize);
+
+        cache.put(FontConstants.HELVETICA, helvetica);
+        cache.put(FontConstants.COURIER, courier);
+        // helvetica becomes the most recently used one
+        cache.get(FontConstants.HELVETICA);
+        cache.put(FontConstants.TIMES_ROMAN, times);
+
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertTrue(cache.getSize() <= maxSize);
+        // evicted font program is softly reachable and is returned while it is not collected
+        Assert.assertSame(courier, cache.get(FontConstants.COURIER));
+        Assert.assertEquals(2, cache.getEvictionCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertNull(cache.get(FontConstants.COURIER));
+    }
+
+    @Test
+    public void customCacheTest() throws IOException {
+        IFontProgramCache defaultCache = FontCache.getFontProgramCache();
+        LruFontProgramCache cache = new LruFontProgramCache();
+        FontCache.setFontProgramCache(cache);
+        try {
+            FontProgram fontProgram = FontProgramFactory.createFont(FontConstants.COURIER_BOLD);
+            Assert.assertSame(fontProgram, FontProgramFactory.createFont(FontConstants.COURIER_BOLD));
+            Assert.assertEquals(1, cache.getCount());
+            Assert.assertEquals(1, cache.getHitCount());
+        } finally {
+            FontCache.setFontProgramCache(defaultCache);
+        }
+    }
+}
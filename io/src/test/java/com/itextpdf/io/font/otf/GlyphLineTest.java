@@ -0,0 +1,61 @@
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class GlyphLineTest {
+
+    private static final GlyphLine.IGlyphLineFilter SKIP_SPACES = new GlyphLine.IGlyphLineFilter() {
+        @Override
+        public boolean accept(Glyph glyph) {
+            return glyph.getUnicode() != ' ';
+        }
+    };
+
+    @Test
+    public void filterNothingTest() {
+        GlyphLine line = createLine("abcd");
+        line.start = 1;
+        Assert.assertSame(line, line.filter(SKIP_SPACES));
+    }
+
+    @Test
+    public void filterTest() {
+        GlyphLine line = createLine("x a b c ");
+        line.setActualText(2, 7, "abc");
+        line.start = 1;
+        line.end = 7;
+
+        GlyphLine filtered = line.filter(SKIP_SPACES);
+        Assert.assertEquals(0, filtered.start);
+        Assert.assertEquals(3, filtered.end);
+        Assert.assertEquals(3, filtered.get(0).getCode());
+        Assert.assertEquals(7, filtered.get(2).getCode());
+        Assert.assertEquals("abc", filtered.toUnicodeString(filtered.start, filtered.end));
+        Iterator<GlyphLine.GlyphLinePart> parts = filtered.iterator();
+        GlyphLine.GlyphLinePart part = parts.next();
+        Assert.assertEquals("abc", part.actualText);
+        Assert.assertEquals(3, part.end);
+        Assert.assertFalse(parts.hasNext());
+
+        // the original line is not changed
+        Assert.assertEquals(8, line.size());
+        Assert.assertEquals(1, line.start);
+    }
+
+    private static GlyphLine createLine(String text) {
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(new Glyph(i + 1, 500, text.charAt(i)));
+        }
+        return new GlyphLine(glyphs);
+    }
+}
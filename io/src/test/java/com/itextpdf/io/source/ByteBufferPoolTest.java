@@ -0,0 +1,54 @@
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ByteBufferPoolTest {
+
+    @Test
+    public void reuseTest() {
+        ByteBufferPool pool = new ByteBufferPool(2, 1024);
+        ByteBuffer buffer = pool.acquire();
+        buffer.append("content");
+        pool.release(buffer);
+        Assert.assertEquals(1, pool.getPooledCount());
+
+        ByteBuffer reused = pool.acquire(512);
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.size());
+        Assert.assertTrue(reused.capacity() >= 512);
+        Assert.assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    public void limitsTest() {
+        ByteBufferPool pool = new ByteBufferPool(2, 1024);
+        pool.release(new ByteBuffer(2048));
+        Assert.assertEquals(0, pool.getPooledCount());
+        pool.release(new ByteBuffer());
+        pool.release(new ByteBuffer());
+        pool.release(new ByteBuffer());
+        Assert.assertEquals(2, pool.getPooledCount());
+    }
+
+    @Test
+    public void tokenizerTest() throws java.io.IOException {
+        ByteBufferPool pool = new ByteBufferPool();
+        byte[] content = ByteUtils.getIsoBytes("/Name 12 (string) [1 2] BT ET");
+        PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(content)), pool);
+        int count = 0;
+        while (tokenizer.nextToken()) {
+            count++;
+        }
+        Assert.assertEquals(9, count);
+        Assert.assertEquals(0, pool.getPooledCount());
+        tokenizer.close();
+        Assert.assertEquals(1, pool.getPooledCount());
+        tokenizer.close();
+        Assert.assertEquals(1, pool.getPooledCount());
+    }
+}
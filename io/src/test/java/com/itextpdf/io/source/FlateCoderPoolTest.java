@@ -0,0 +1,96 @@
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FlateCoderPoolTest {
+
+    @Test
+    public void reuseDeflaterTest() throws IOException {
+        FlateCoderPool pool = new FlateCoderPool(2);
+        byte[] content = createContent();
+
+        Deflater deflater = pool.acquireDeflater(Deflater.BEST_COMPRESSION, Deflater.FILTERED);
+        byte[] compressed = compress(content, deflater);
+        pool.release(deflater);
+        Assert.assertEquals(1, pool.getPooledDeflaterCount());
+
+        Deflater reused = pool.acquireDeflater(Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY);
+        Assert.assertSame(deflater, reused);
+        Assert.assertEquals(0, pool.getPooledDeflaterCount());
+        Assert.assertArrayEquals(compress(content, new Deflater(Deflater.BEST_SPEED)), compress(content, reused));
+        pool.release(reused);
+
+        reused = pool.acquireDeflater(Deflater.BEST_COMPRESSION, Deflater.FILTERED);
+        Assert.assertArrayEquals(compressed, compress(content, reused));
+    }
+
+    @Test
+    public void reuseInflaterTest() throws DataFormatException {
+        FlateCoderPool pool = new FlateCoderPool(2);
+        byte[] content = createContent();
+        Deflater deflater = new Deflater();
+        byte[] compressed = compressToArray(content, deflater);
+        deflater.end();
+
+        for (int i = 0; i < 3; i++) {
+            Inflater inflater = pool.acquireInflater();
+            inflater.setInput(compressed);
+            byte[] decompressed = new byte[content.length];
+            Assert.assertEquals(content.length, inflater.inflate(decompressed));
+            Assert.assertTrue(inflater.finished());
+            Assert.assertArrayEquals(content, decompressed);
+            pool.release(inflater);
+            Assert.assertEquals(1, pool.getPooledInflaterCount());
+        }
+    }
+
+    @Test
+    public void limitsTest() {
+        FlateCoderPool pool = new FlateCoderPool(2);
+        pool.release(new Deflater());
+        pool.release(new Deflater());
+        pool.release(new Deflater());
+        pool.release((Deflater) null);
+        Assert.assertEquals(2, pool.getPooledDeflaterCount());
+        pool.release(new Inflater());
+        Assert.assertEquals(1, pool.getPooledInflaterCount());
+    }
+
+    private static byte[] createContent() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("BT /F1 12 Tf ").append(i).append(" 700 Td (Text ").append(i * 31).append(") Tj ET\n");
+        }
+        return ByteUtils.getIsoBytes(content.toString());
+    }
+
+    private static byte[] compress(byte[] content, Deflater deflater) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(output, deflater, 512);
+        zip.write(content);
+        zip.finish();
+        return output.toByteArray();
+    }
+
+    private static byte[] compressToArray(byte[] content, Deflater deflater) {
+        deflater.setInput(content);
+        deflater.finish();
+        byte[] buffer = new byte[content.length + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+}
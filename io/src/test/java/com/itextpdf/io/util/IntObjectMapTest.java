@@ -0,0 +1,78 @@
+package com.itextpdf.io.util;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class IntObjectMapTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Assert.assertNull(map.put(0x41, "A"));
+        Assert.assertNull(map.put(0x1F600, "smile"));
+        Assert.assertNull(map.put(-1, "minus one"));
+        Assert.assertEquals("A", map.put(0x41, "a"));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals("a", map.get(0x41));
+        Assert.assertEquals("smile", map.get(0x1F600));
+        Assert.assertEquals("minus one", map.get((Object) (-1)));
+        Assert.assertNull(map.get(0x42));
+        Assert.assertNull(map.get("A"));
+        Assert.assertTrue(map.containsKey(0x1F600));
+        Assert.assertFalse(map.containsKey(0x1F601));
+
+        Assert.assertEquals("smile", map.remove(0x1F600));
+        Assert.assertNull(map.remove(0x1F600));
+        Assert.assertEquals("a", map.put(0x41, null));
+        Assert.assertEquals(1, map.size());
+        Assert.assertFalse(map.containsKey(0x41));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(-1));
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            // mix dense keys with keys which go to the hash table, and make collisions likely
+            int key = random.nextBoolean() ? random.nextInt(0x10000) : random.nextInt(2000) * 0x10000 - 1000;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, (Integer) i));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get((int) entry.getKey()));
+        }
+        Assert.assertEquals(expected, map);
+    }
+
+    @Test
+    public void entryIterationOrderTest() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0x20000, "overflow");
+        map.put(0x300, "b");
+        map.put(0x20, "a");
+        int[] keys = new int[3];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            keys[i++] = entry.getKey();
+        }
+        Assert.assertArrayEquals(new int[] {0x20, 0x300, 0x20000}, keys);
+    }
+}
@@ -0,0 +1,300 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded cache of the glyph lines created for short strings, e.g. table headers, labels and amounts,
+ * which are laid out over and over again. The cached glyph lines are never handed out: {@link #get(String, String)}
+ * returns a copy, which can be freely modified by the caller. The glyphs with placement are copied as well, since
+ * the layout adjusts their anchors in place, while the other glyphs are the shared glyphs of the font. Along with the glyph line the cache keeps its advance
+ * width, so that the width of a cached string can be got without iterating the glyphs.
+ * <br/>
+ * Besides the text, an entry is identified by a features string, which describes what was applied to the glyph line
+ * after it was created from the text, e.g. OpenType script shaping and kerning. {@code null} features stand for
+ * the glyph line created by {@link PdfFont#createGlyphLine(String)}.
+ * <br/>
+ * The glyphs of a text depend only on the font program and on the encoding of the font, so the fonts of different
+ * documents, which use the same cached font program and the same encoding, share the cache
+ * (see {@link #getSharedCache(FontProgram, String)}). The cache is thread-safe.
+ */
+public class GlyphLineCache {
+
+    /**
+     * Default maximum number of cached glyph lines.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 2048;
+
+    /**
+     * Default maximum length of a cached text. Longer texts, like whole paragraphs, are rarely repeated.
+     */
+    public static final int DEFAULT_MAX_TEXT_LENGTH = 128;
+
+    private static final Map<FontProgram, Map<String, GlyphLineCache>> sharedCaches = new WeakHashMap<>();
+
+    private final int maxEntries;
+    private final int maxTextLength;
+    private final LinkedHashMap<CacheKey, CacheEntry> entries;
+
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates the cache bounded by {@link #DEFAULT_MAX_ENTRIES} and {@link #DEFAULT_MAX_TEXT_LENGTH}.
+     */
+    public GlyphLineCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TEXT_LENGTH);
+    }
+
+    /**
+     * Creates the cache with the given bounds.
+     *
+     * @param maxEntries    maximum number of cached glyph lines, the least recently used ones are evicted.
+     * @param maxTextLength maximum length of a cached text, longer texts are not cached.
+     */
+    public GlyphLineCache(int maxEntries, int maxTextLength) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal max entries: {0}", maxEntries));
+        }
+        if (maxTextLength < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal max text length: {0}", maxTextLength));
+        }
+        this.maxEntries = maxEntries;
+        this.maxTextLength = maxTextLength;
+        this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4946093564914458306L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > GlyphLineCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the fonts, which use the font program with the given encoding.
+     *
+     * @param fontProgram the font program.
+     * @param encodingKey the string, which identifies the mapping of the text to the glyphs of the font program,
+     *                    e.g. font type and encoding name.
+     * @return the shared cache.
+     */
+    public static GlyphLineCache getSharedCache(FontProgram fontProgram, String encodingKey) {
+        synchronized (sharedCaches) {
+            Map<String, GlyphLineCache> caches = sharedCaches.get(fontProgram);
+            if (caches == null) {
+                caches = new HashMap<>();
+                sharedCaches.put(fontProgram, caches);
+            }
+            GlyphLineCache cache = caches.get(encodingKey);
+            if (cache == null) {
+                cache = new GlyphLineCache();
+                caches.put(encodingKey, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Gets a copy of the cached glyph line.
+     *
+     * @param text     the text.
+     * @param features the features applied to the glyph line, or {@code null}.
+     * @return the copy of the glyph line, or {@code null} if it isn't cached.
+     */
+    public GlyphLine get(String text, String features) {
+        CacheEntry entry = getEntry(text, features);
+        return entry != null ? copy(entry.glyphLine, 0, entry.glyphLine.size()) : null;
+    }
+
+    /**
+     * Gets the advance width of the cached glyph line, i.e. the sum of the widths and the x advances of its glyphs.
+     *
+     * @param text     the text.
+     * @param features the features applied to the glyph line, or {@code null}.
+     * @return the width in text space, or -1 if the glyph line isn't cached.
+     */
+    public int getWidth(String text, String features) {
+        CacheEntry entry = getEntry(text, features);
+        return entry != null ? entry.width : -1;
+    }
+
+    /**
+     * Puts a copy of the glyph line into the cache, if the text isn't too long.
+     *
+     * @param text      the text.
+     * @param features  the features applied to the glyph line, or {@code null}.
+     * @param glyphLine the glyph line of the text, the glyphs between {@link GlyphLine#start}
+     *                  and {@link GlyphLine#end} are cached.
+     */
+    public void put(String text, String features, GlyphLine glyphLine) {
+        if (text.length() > maxTextLength || maxEntries == 0) {
+            return;
+        }
+        GlyphLine copy = copy(glyphLine, glyphLine.start, glyphLine.end);
+        int width = 0;
+        for (int i = 0; i < copy.size(); i++) {
+            Glyph glyph = copy.get(i);
+            width += glyph.getWidth() + glyph.getXAdvance();
+        }
+        CacheEntry entry = new CacheEntry(copy, width);
+        synchronized (this) {
+            entries.put(new CacheKey(text, features), entry);
+        }
+    }
+
+    /**
+     * Removes all the cached glyph lines.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of the cached glyph lines.
+     *
+     * @return number of the cached glyph lines.
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of requests which found a cached glyph line.
+     *
+     * @return number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of requests for texts which were not cached.
+     *
+     * @return number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Copies the glyph line. The positioned glyphs (e.g. marks positioned by GPOS) are copied as well,
+     * since the layout adjusts their anchors in place when the line is reordered.
+     */
+    private static GlyphLine copy(GlyphLine glyphLine, int start, int end) {
+        GlyphLine copy = glyphLine.copy(start, end);
+        for (int i = 0; i < copy.size(); i++) {
+            Glyph glyph = copy.get(i);
+            if (glyph.hasPlacement()) {
+                copy.set(i, new Glyph(glyph));
+            }
+        }
+        return copy;
+    }
+
+    private CacheEntry getEntry(String text, String features) {
+        if (text.length() > maxTextLength) {
+            return null;
+        }
+        CacheKey key = new CacheKey(text, features);
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+            return entry;
+        }
+    }
+
+    private static class CacheKey {
+        private final String text;
+        private final String features;
+        private final int hash;
+
+        CacheKey(String text, String features) {
+            this.text = text;
+            this.features = features;
+            this.hash = 31 * text.hashCode() + (features != null ? features.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return hash == other.hash && text.equals(other.text)
+                    && (features == null ? other.features == null : features.equals(other.features));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class CacheEntry {
+        private final GlyphLine glyphLine;
+        private final int width;
+
+        CacheEntry(GlyphLine glyphLine, int width) {
+            this.glyphLine = glyphLine;
+            this.width = width;
+        }
+    }
+}
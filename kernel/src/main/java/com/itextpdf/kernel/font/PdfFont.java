@@ -60,9 +60,9 @@ import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
@@ -73,7 +73,11 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     protected static final byte[] emptyBytes = new byte[0];
 
-    protected Map<Integer, Glyph> notdefGlyphs = new HashMap<>();
+    /**
+     * Glyphs created for the unicode values which are absent in the font program.
+     * The map is filled lazily and could be shared between threads, if the font is used for text extraction.
+     */
+    protected Map<Integer, Glyph> notdefGlyphs = new ConcurrentHashMap<>();
 
     /**
      * false, if the font comes from PdfDocument.
@@ -90,6 +94,8 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
     protected boolean subset = true;
     protected List<int[]> subsetRanges;
 
+    private transient GlyphLineCache glyphLineCache;
+
     protected PdfFont(PdfDictionary fontDictionary) {
         super(fontDictionary);
         getPdfObject().put(PdfName.Type, PdfName.Font);
@@ -144,6 +150,45 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     public abstract GlyphLine createGlyphLine(String content);
 
+    /**
+     * Creates the {@link GlyphLine} for the text like {@link #createGlyphLine(String)} does, but reuses the glyph lines
+     * of the short texts which were already converted by this font or by the fonts of other documents,
+     * which use the same font program and encoding. The returned glyph line is always a new instance.
+     *
+     * @param content the text.
+     * @return the glyph line of the text.
+     */
+    public GlyphLine createCachedGlyphLine(String content) {
+        GlyphLineCache cache = getGlyphLineCache();
+        if (cache == null) {
+            return createGlyphLine(content);
+        }
+        GlyphLine glyphLine = cache.get(content, null);
+        if (glyphLine == null) {
+            glyphLine = createGlyphLine(content);
+            cache.put(content, null, glyphLine);
+        }
+        return glyphLine;
+    }
+
+    /**
+     * Gets the cache of the glyph lines created for the texts with this font.
+     *
+     * @return the cache, or {@code null} if glyph lines of this font can't be cached.
+     * @see #getGlyphLineCacheKey()
+     */
+    public GlyphLineCache getGlyphLineCache() {
+        if (glyphLineCache == null) {
+            String key = getGlyphLineCacheKey();
+            if (key != null && fontProgram != null) {
+                glyphLineCache = GlyphLineCache.getSharedCache(fontProgram, key);
+            } else {
+                glyphLineCache = new GlyphLineCache();
+            }
+        }
+        return glyphLineCache;
+    }
+
     /**
      * Converts the text into bytes to be placed in the document.
      * The conversion is done according to the font and the encoding and the characters
@@ -181,6 +226,17 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         return FontConstants.DefaultFontMatrix;
     }
 
+    /**
+     * Gets the string, which identifies how the text is mapped to the glyphs of the font program,
+     * so that the fonts with the same font program and key could share {@link GlyphLineCache}.
+     *
+     * @return the key, or {@code null} if the mapping is specific to this font, e.g. the font comes from
+     * an existing document. In that case the glyph lines are cached only by this font.
+     */
+    protected String getGlyphLineCacheKey() {
+        return null;
+    }
+
     /**
      * Returns the width of a certain character of this font in 1000 normalized units.
      *
@@ -112,6 +112,14 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
         return fontEncoding;
     }
 
+    @Override
+    protected String getGlyphLineCacheKey() {
+        if (!newFont || fontEncoding == null) {
+            return null;
+        }
+        return getClass().getName() + " " + (fontEncoding.isFontSpecific() ? "FontSpecific" : fontEncoding.getBaseEncoding());
+    }
+
     @Override
     public byte[] convertToBytes(String text) {
         byte[] bytes = fontEncoding.convertToBytes(text);
@@ -273,16 +273,7 @@ public class PdfType0Font extends PdfFont {
     @Override
     public byte[] convertToBytes(GlyphLine glyphLine) {
         if (glyphLine != null) {
-            char[] glyphs = new char[glyphLine.size()];
-            for (int i = 0; i < glyphLine.size(); i++) {
-                Glyph glyph = glyphLine.get(i);
-                glyphs[i] = (char) cmapEncoding.getCmapCode(glyph.getCode());
-                int code = glyph.getCode();
-                if (longTag.get(code) == null) {
-                    longTag.put(code, new int[]{code, glyph.getWidth(), glyph.hasValidUnicode() ? glyph.getUnicode() : 0});
-                }
-            }
-            return PdfEncodings.convertToBytes(new String(glyphs, 0, glyphs.length), PdfEncodings.UNICODE_BIG_UNMARKED);
+            return convertToBytes(glyphLine, 0, glyphLine.size() - 1);
         } else {
             return null;
         }
@@ -294,27 +285,37 @@ public class PdfType0Font extends PdfFont {
         if (longTag.get(code) == null) {
             longTag.put(code, new int[]{code, glyph.getWidth(), glyph.hasValidUnicode() ? glyph.getUnicode() : 0});
         }
-        return PdfEncodings.convertToBytes(new String(new char[]{(char) glyph.getCode()}, 0, 1), PdfEncodings.UNICODE_BIG_UNMARKED);
+        return new byte[]{(byte) (code >> 8), (byte) code};
     }
 
     @Override
     public void writeText(GlyphLine text, int from, int to, PdfOutputStream stream) {
-        StringBuilder bytes = new StringBuilder();
+        StreamUtil.writeHexedString(stream, convertToBytes(text, from, to));
+    }
+
+    @Override
+    public void writeText(String text, PdfOutputStream stream) {
+        StreamUtil.writeHexedString(stream, convertToBytes(text));
+    }
+
+    /**
+     * Converts the glyphs to the two-byte codes of the CMap and marks them as used.
+     * The codes are written directly, without converting them to a string first.
+     */
+    private byte[] convertToBytes(GlyphLine glyphLine, int from, int to) {
+        byte[] bytes = new byte[Math.max(to - from + 1, 0) * 2];
+        int ptr = 0;
         for (int i = from; i <= to; i++) {
-            Glyph glyph = text.get(i);
+            Glyph glyph = glyphLine.get(i);
             int code = glyph.getCode();
-            bytes.append((char) cmapEncoding.getCmapCode(glyph.getCode()));
+            int cmapCode = cmapEncoding.getCmapCode(code);
+            bytes[ptr++] = (byte) (cmapCode >> 8);
+            bytes[ptr++] = (byte) cmapCode;
             if (longTag.get(code) == null) {
                 longTag.put(code, new int[]{code, glyph.getWidth(), glyph.hasValidUnicode() ? glyph.getUnicode() : 0});
             }
         }
-        //TODO improve converting chars to hexed string
-        StreamUtil.writeHexedString(stream, PdfEncodings.convertToBytes(bytes.toString(), PdfEncodings.UNICODE_BIG_UNMARKED));
-    }
-
-    @Override
-    public void writeText(String text, PdfOutputStream stream) {
-        StreamUtil.writeHexedString(stream, convertToBytes(text));
+        return bytes;
     }
 
     @Override
@@ -373,6 +374,14 @@ public class PdfType0Font extends PdfFont {
         return new GlyphLine(glyphs);
     }
 
+    @Override
+    protected String getGlyphLineCacheKey() {
+        if (!newFont || cmapEncoding == null) {
+            return null;
+        }
+        return getClass().getName() + " " + cidFontType + " " + cmapEncoding.getCmapName() + " " + cmapEncoding.getUniMapName();
+    }
+
     @Override
     // TODO refactor using decodeIntoGlyphLine?
     public String decode(PdfString content) {
@@ -203,6 +203,16 @@ public class PdfType3Font extends PdfSimpleFont<Type3FontProgram> {
         return null;
     }
 
+    /**
+     * The glyphs are added to the font while it is in use, so the glyph lines are not cached.
+     *
+     * @return {@code null}.
+     */
+    @Override
+    public GlyphLineCache getGlyphLineCache() {
+        return null;
+    }
+
     @Override
     protected PdfDictionary getFontDescriptor(String fontName) {
         return null;
@@ -0,0 +1,423 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The map which backs {@link PdfDictionary}.
+ * Most of the dictionaries have just a few entries, so the entries are kept in the single array sorted by key,
+ * with each key followed by its value, which is much more compact than the entries of a {@link TreeMap}. When the number of entries exceeds
+ * {@link #MAX_ARRAY_SIZE}, the map switches to the {@link TreeMap}. In both cases the keys are iterated in their
+ * natural order, as before.
+ */
+class PdfDictionaryMap extends AbstractMap<PdfName, PdfObject> implements Serializable {
+
+    private static final long serialVersionUID = 6482746352093759473L;
+
+    /**
+     * Maximum number of entries kept in the arrays.
+     */
+    static final int MAX_ARRAY_SIZE = 16;
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final Object[] EMPTY_TABLE = new Object[0];
+
+    /**
+     * Keys at the even indices, values at the odd ones.
+     */
+    private Object[] table = EMPTY_TABLE;
+    private int size;
+    private TreeMap<PdfName, PdfObject> tree;
+
+    private transient int modCount;
+
+    @Override
+    public int size() {
+        return tree != null ? tree.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return tree != null ? tree.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (tree != null) {
+            return tree.containsValue(value);
+        }
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(value, table[(i << 1) + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public PdfObject get(Object key) {
+        if (tree != null) {
+            return tree.get(key);
+        }
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public PdfObject put(PdfName key, PdfObject value) {
+        if (tree != null) {
+            return tree.put(key, value);
+        }
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            PdfObject oldValue = valueAt(index);
+            table[(index << 1) + 1] = value;
+            return oldValue;
+        }
+        modCount++;
+        if (size == MAX_ARRAY_SIZE) {
+            tree = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                tree.put(keyAt(i), valueAt(i));
+            }
+            table = null;
+            size = 0;
+            return tree.put(key, value);
+        }
+        index = -(index + 1);
+        if (size << 1 == table.length) {
+            int capacity = Math.min(Math.max(size << 1, INITIAL_CAPACITY), MAX_ARRAY_SIZE);
+            table = Arrays.copyOf(table, capacity << 1);
+        }
+        System.arraycopy(table, index << 1, table, (index + 1) << 1, (size - index) << 1);
+        table[index << 1] = key;
+        table[(index << 1) + 1] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends PdfName, ? extends PdfObject> m) {
+        if (isEmpty() && tree == null && m instanceof PdfDictionaryMap && ((PdfDictionaryMap) m).tree == null) {
+            PdfDictionaryMap other = (PdfDictionaryMap) m;
+            if (other.size > 0) {
+                modCount++;
+                table = Arrays.copyOf(other.table, other.size << 1);
+                size = other.size;
+            }
+        } else {
+            super.putAll(m);
+        }
+    }
+
+    @Override
+    public PdfObject remove(Object key) {
+        if (tree != null) {
+            return tree.remove(key);
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        PdfObject oldValue = valueAt(index);
+        removeAt(index);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        tree = null;
+        table = EMPTY_TABLE;
+        size = 0;
+    }
+
+    @Override
+    public Set<PdfName> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<PdfObject> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<Map.Entry<PdfName, PdfObject>> entrySet() {
+        return new EntrySet();
+    }
+
+    private PdfName keyAt(int index) {
+        return (PdfName) table[index << 1];
+    }
+
+    private PdfObject valueAt(int index) {
+        return (PdfObject) table[(index << 1) + 1];
+    }
+
+    /**
+     * Returns the index of the key, or {@code -(insertion point) - 1} if there is no such key.
+     */
+    private int indexOf(Object key) {
+        Object[] table = this.table;
+        int length = size << 1;
+        // the keys are usually the static names, so try identity first
+        for (int i = 0; i < length; i += 2) {
+            if (table[i] == key) {
+                return i >> 1;
+            }
+        }
+        PdfName name = (PdfName) key;
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ((PdfName) table[mid << 1]).compareTo(name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void removeAt(int index) {
+        modCount++;
+        System.arraycopy(table, (index + 1) << 1, table, index << 1, (size - index - 1) << 1);
+        size--;
+        table[size << 1] = null;
+        table[(size << 1) + 1] = null;
+    }
+
+    private abstract class ArrayIterator<E> implements Iterator<E> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return get(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        abstract E get(int index);
+    }
+
+    private class KeySet extends AbstractSet<PdfName> {
+        @Override
+        public Iterator<PdfName> iterator() {
+            if (tree != null) {
+                return tree.keySet().iterator();
+            }
+            return new ArrayIterator<PdfName>() {
+                @Override
+                PdfName get(int index) {
+                    return keyAt(index);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PdfDictionaryMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int oldSize = size();
+            PdfDictionaryMap.this.remove(o);
+            return size() != oldSize;
+        }
+
+        @Override
+        public void clear() {
+            PdfDictionaryMap.this.clear();
+        }
+    }
+
+    private class Values extends AbstractCollection<PdfObject> {
+        @Override
+        public Iterator<PdfObject> iterator() {
+            if (tree != null) {
+                return tree.values().iterator();
+            }
+            return new ArrayIterator<PdfObject>() {
+                @Override
+                PdfObject get(int index) {
+                    return valueAt(index);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PdfDictionaryMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            PdfDictionaryMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<PdfName, PdfObject>> {
+        @Override
+        public Iterator<Map.Entry<PdfName, PdfObject>> iterator() {
+            if (tree != null) {
+                return tree.entrySet().iterator();
+            }
+            return new ArrayIterator<Map.Entry<PdfName, PdfObject>>() {
+                @Override
+                Map.Entry<PdfName, PdfObject> get(int index) {
+                    return new Entry(keyAt(index), valueAt(index));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return PdfDictionaryMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object key = entry.getKey();
+            return key != null && containsKey(key) && Objects.equals(get(key), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                PdfDictionaryMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            PdfDictionaryMap.this.clear();
+        }
+    }
+
+    /**
+     * The entry of the array based map, setting the value updates the map.
+     */
+    private class Entry extends SimpleEntry<PdfName, PdfObject> {
+        private static final long serialVersionUID = -2378233491638292417L;
+
+        Entry(PdfName key, PdfObject value) {
+            super(key, value);
+        }
+
+        @Override
+        public PdfObject setValue(PdfObject value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -320,6 +320,8 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
 
     /**
      * Gets the page by page number.
+     * If the document is opened in reading mode, different pages could be requested and processed,
+     * e.g. with {@link com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor}, from the different threads.
      *
      * @param pageNum page number.
      * @return page by page number.
@@ -62,8 +62,9 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
 
     /**
      * PdfObject that current PdfIndirectReference instance refers to.
+     * The field is volatile, since the object could be read from the different threads.
      */
-    protected PdfObject refersTo = null;
+    protected volatile PdfObject refersTo = null;
 
     /**
      * Indirect reference number of object stream containing refersTo object.
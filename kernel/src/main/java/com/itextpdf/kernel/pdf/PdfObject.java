@@ -302,7 +302,9 @@ public abstract class PdfObject implements Serializable {
     public PdfObject setModified() {
         if (indirectReference != null) {
             indirectReference.setState(MODIFIED);
-            setState(FORBID_RELEASE);
+            if (!isStreamingAppendMode()) {
+                setState(FORBID_RELEASE);
+            }
         }
         return this;
     }
@@ -315,6 +317,11 @@ public abstract class PdfObject implements Serializable {
         } else {
             if (indirectReference != null && indirectReference.getReader() != null
                     && !indirectReference.checkState(FLUSHED)) {
+                if (indirectReference.checkState(MODIFIED) && isStreamingAppendMode()) {
+                    // modified object shall not be lost, it is written instead of being released
+                    flush();
+                    return;
+                }
                 indirectReference.refersTo = null;
                 indirectReference = null;
                 setState(READ_ONLY);
@@ -478,6 +485,15 @@ public abstract class PdfObject implements Serializable {
             throw new PdfException(PdfException.CannotCopyFlushedObject, this);
     }
 
+    /**
+     * Checks if the object belongs to the document, which is edited in streaming append mode,
+     * see {@link StampingProperties#useStreamingAppendMode()}.
+     */
+    private boolean isStreamingAppendMode() {
+        PdfDocument document = indirectReference != null ? indirectReference.getDocument() : null;
+        return document != null && document.getWriter() != null && document.properties.streamingAppendMode;
+    }
+
     /**
      * Processes two cases of object copying:
      * <ol>
@@ -47,6 +47,7 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.io.source.FlateCoderPool;
 import com.itextpdf.io.source.OutputStream;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.OutputStreamEncryption;
@@ -56,6 +57,7 @@ import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.Deflater;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -242,39 +244,44 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
 
     private void write(PdfStream pdfStream) {
         try {
-            boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
-            if (!userDefinedCompression) {
-                int defaultCompressionLevel = document != null ?
-                        document.getWriter().getCompressionLevel() :
-                        CompressionConstants.DEFAULT_COMPRESSION;
-                pdfStream.setCompressionLevel(defaultCompressionLevel);
-            }
+            boolean userDefinedCompression = applyDefaultCompressionLevel(pdfStream);
             boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
             boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
 
             if (pdfStream.getInputStream() != null) {
                 java.io.OutputStream fout = this;
                 DeflaterOutputStream def = null;
+                Deflater deflater = null;
                 OutputStreamEncryption ose = null;
                 if (crypto != null && !crypto.isEmbeddedFilesOnly()) {
                     fout = ose = crypto.getEncryptionStream(fout);
                 }
-                if (toCompress && (allowCompression || userDefinedCompression)) {
+                boolean compress = toCompress && (allowCompression || userDefinedCompression);
+                if (compress) {
                     updateCompressionFilter(pdfStream);
-                    fout = def = new DeflaterOutputStream(fout, pdfStream.getCompressionLevel(), 0x8000);
                 }
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 long beginStreamContent = getCurrentPos();
-                byte[] buf = new byte[4192];
-                while (true) {
-                    int n = pdfStream.getInputStream().read(buf);
-                    if (n <= 0)
-                        break;
-                    fout.write(buf, 0, n);
+                if (compress) {
+                    deflater = FlateCoderPool.getInstance().acquireDeflater(pdfStream.getCompressionLevel(), getStreamCompressionStrategy(pdfStream));
                 }
-                if (def != null) {
-                    def.finish();
+                try {
+                    if (deflater != null) {
+                        fout = def = new DeflaterOutputStream(fout, deflater, 0x8000);
+                    }
+                    byte[] buf = new byte[4192];
+                    while (true) {
+                        int n = pdfStream.getInputStream().read(buf);
+                        if (n <= 0)
+                            break;
+                        fout.write(buf, 0, n);
+                    }
+                    if (def != null) {
+                        def.finish();
+                    }
+                } finally {
+                    FlateCoderPool.getInstance().release(deflater);
                 }
                 if (ose != null) {
                     ose.finish();
@@ -284,44 +291,14 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
             } else {
-                //When document is opened in stamping mode the output stream can be uninitialized.
-                //We have to initialize it and write all data from streams input to streams output.
-                if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
-                    // If new specific compression is set for stream,
-                    // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
-                    if (userDefinedCompression) {
-                        bytes = decodeFlateBytes(pdfStream, bytes);
-                    }
-                    pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
-                    pdfStream.getOutputStream().write(bytes);
-                }
-                assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
+                boolean compress = prepareStreamContent(pdfStream, userDefinedCompression);
                 ByteArrayOutputStream byteArrayStream;
                 try {
-                    if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) { // compress
-                        updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
+                    if (compress) {
+                        byteArrayStream = compressStreamContent(getStreamContent(pdfStream), pdfStream.getCompressionLevel(),
+                                getStreamCompressionStrategy(pdfStream));
                     } else {
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            byteArrayStream = new ByteArrayOutputStream();
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
-                        }
+                        byteArrayStream = getStreamContent(pdfStream);
                     }
                     if (checkEncryption(pdfStream)) {
                         ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
@@ -346,6 +323,133 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Sets the compression level of the document to the stream, if the stream doesn't have its own one.
+     *
+     * @param pdfStream the stream which is going to be written.
+     * @return true if the compression level was explicitly defined for the stream, otherwise false.
+     */
+    boolean applyDefaultCompressionLevel(PdfStream pdfStream) {
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        if (!userDefinedCompression) {
+            int defaultCompressionLevel = document != null ?
+                    document.getWriter().getCompressionLevel(pdfStream) :
+                    CompressionConstants.DEFAULT_COMPRESSION;
+            pdfStream.setCompressionLevel(defaultCompressionLevel);
+        }
+        return userDefinedCompression;
+    }
+
+    /**
+     * Gets the compression strategy for the stream, which filters are already updated.
+     *
+     * @param pdfStream the stream which is going to be compressed.
+     * @return the compression strategy, see {@link CompressionConstants}.
+     */
+    private int getStreamCompressionStrategy(PdfStream pdfStream) {
+        return document != null ?
+                document.getWriter().getCompressionStrategy(pdfStream) :
+                CompressionConstants.DEFAULT_STRATEGY;
+    }
+
+    /**
+     * Prepares the stream, which content is kept in memory, for writing.
+     * In stamping mode the original stream bytes are read first. If the content is going to be compressed,
+     * FlateDecode filter is added to the stream dictionary.
+     *
+     * @param pdfStream              the stream which is going to be written.
+     * @param userDefinedCompression indicates if the compression level was explicitly defined for the stream.
+     * @return true if the stream content shall be compressed before writing, otherwise false.
+     * @throws IOException on error.
+     */
+    boolean prepareStreamContent(PdfStream pdfStream, boolean userDefinedCompression) throws IOException {
+        boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        //When document is opened in stamping mode the output stream can be uninitialized.
+        //We have to initialize it and write all data from streams input to streams output.
+        if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+            // If new specific compression is set for stream,
+            // then compressed stream should be decoded and written with new compression settings
+            byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+            if (userDefinedCompression) {
+                bytes = decodeFlateBytes(pdfStream, bytes);
+            }
+            pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
+            pdfStream.getOutputStream().write(bytes);
+        }
+        assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
+        if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) {
+            updateCompressionFilter(pdfStream);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the not yet encoded content of the stream, which is kept in memory.
+     * For object streams the index part and the objects part are joined together.
+     *
+     * @param pdfStream the stream which content is requested.
+     * @return the buffer with the stream content.
+     * @throws IOException on error.
+     */
+    static ByteArrayOutputStream getStreamContent(PdfStream pdfStream) throws IOException {
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
+            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
+            return byteArrayStream;
+        } else {
+            assert pdfStream.getOutputStream() != null : "Error in outputStream";
+            return (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
+        }
+    }
+
+    /**
+     * Compresses the stream content with Flate. The method doesn't touch any document state,
+     * so it can be safely called from other threads.
+     *
+     * The deflater is taken from the shared {@link FlateCoderPool}.
+     *
+     * @param content             the stream content to compress.
+     * @param compressionLevel    the compression level, see {@link CompressionConstants}.
+     * @param compressionStrategy the compression strategy, see {@link CompressionConstants}.
+     * @return the buffer with the compressed content.
+     * @throws IOException on error.
+     */
+    static ByteArrayOutputStream compressStreamContent(ByteArrayOutputStream content, int compressionLevel, int compressionStrategy) throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        Deflater deflater = FlateCoderPool.getInstance().acquireDeflater(compressionLevel, compressionStrategy);
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, deflater, 512);
+            content.writeTo(zip);
+            zip.finish();
+        } finally {
+            FlateCoderPool.getInstance().release(deflater);
+        }
+        return byteArrayStream;
+    }
+
+    /**
+     * Writes the stream with the already encoded content. The /Length entry is written from the content size,
+     * the rest of the stream dictionary is taken from its previously serialized form.
+     *
+     * @param serializedDictionary the stream dictionary serialized without /Length entry.
+     * @param content              the encoded stream content.
+     * @throws IOException on error.
+     */
+    void writeStream(byte[] serializedDictionary, ByteArrayOutputStream content) throws IOException {
+        writeBytes(openDict);
+        write(PdfName.Length);
+        writeSpace().writeInteger(content.size());
+        // skip opening brackets, they are already written
+        writeBytes(serializedDictionary, openDict.length, serializedDictionary.length - openDict.length);
+        writeBytes(PdfOutputStream.stream);
+        content.writeTo(this);
+        writeBytes(PdfOutputStream.endstream);
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
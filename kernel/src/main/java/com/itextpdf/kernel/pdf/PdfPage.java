@@ -487,6 +487,7 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         resources = null;
 
         super.flush();
+        getDocument().getCatalog().getPageTree().releaseFlushedPage(this);
     }
 
     /**
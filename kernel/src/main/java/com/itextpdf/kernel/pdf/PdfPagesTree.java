@@ -49,6 +49,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -61,9 +62,18 @@ class PdfPagesTree implements Serializable {
 
     private final int leafSize = 10;
 
-    private List<PdfDictionary> pageRefs;
+    /**
+     * Object numbers of the page dictionaries, zero if the page hasn't been loaded from the pages tree yet.
+     */
+    private int[] pageRefs;
+    /**
+     * Page wrappers. A wrapper which may hold not yet written state is kept as {@link PdfPage}. A wrapper which could
+     * be created anew from the page dictionary is kept as {@link WeakReference}, or is not kept at all
+     * if the page is already flushed.
+     */
+    private transient Object[] pages;
+    private int numberOfPages;
     private List<PdfPages> parents;
-    private List<PdfPage> pages;
     private PdfDocument document;
     private boolean generated = false;
     private PdfPages root;
@@ -75,43 +85,43 @@ class PdfPagesTree implements Serializable {
      */
     public PdfPagesTree(PdfCatalog pdfCatalog) {
         this.document = pdfCatalog.getDocument();
-        this.pageRefs = new ArrayList<>();
         this.parents = new ArrayList<>();
-        this.pages = new ArrayList<>();
         if (pdfCatalog.getPdfObject().containsKey(PdfName.Pages)) {
             PdfDictionary pages = pdfCatalog.getPdfObject().getAsDictionary(PdfName.Pages);
             if (pages == null)
                 throw new PdfException(PdfException.InvalidPageStructurePagesPagesMustBePdfDictionary);
             this.root = new PdfPages(0, Integer.MAX_VALUE, pages, null);
             parents.add(this.root);
-            for (int i = 0; i < this.root.getCount(); i++) {
-                this.pageRefs.add(null);
-                this.pages.add(null);
-            }
+            this.numberOfPages = this.root.getCount();
         } else {
             this.root = null;
             this.parents.add(new PdfPages(0, this.document));
         }
         //in read mode we will create PdfPages from 0 to Count
-        // and reserve null indexes for pageRefs and pages.
+        // and reserve zero object numbers for pageRefs and null slots for pages.
+        this.pageRefs = new int[Math.max(numberOfPages, leafSize)];
+        this.pages = new Object[pageRefs.length];
     }
 
     /**
      * Returns the {@see PdfPage} at the specified position in this list.
+     * Pages of the document opened in reading mode could be requested from the different threads.
      *
      * @param pageNum one-based index of the element to return
      * @return the {@see PdfPage} at the specified position in this list
      */
-    public PdfPage getPage(int pageNum) {
+    public synchronized PdfPage getPage(int pageNum) {
         --pageNum;
-        PdfPage pdfPage = pages.get(pageNum);
+        if (pageNum < 0 || pageNum >= numberOfPages)
+            throw new IndexOutOfBoundsException("pageNum");
+        PdfPage pdfPage = getCachedPage(pageNum);
         if (pdfPage == null) {
             loadPage(pageNum);
-            pdfPage = new PdfPage(pageRefs.get(pageNum));
+            pdfPage = new PdfPage(getPageDictionary(pageNum));
             int parentIndex = findPageParent(pageNum);
             PdfPages parentPages = parents.get(parentIndex);
             pdfPage.parentPages = parentPages;
-            pages.set(pageNum, pdfPage);
+            pages[pageNum] = cacheEntry(pdfPage);
         }
         return pdfPage;
     }
@@ -137,31 +147,51 @@ class PdfPagesTree implements Serializable {
      * @return total number of pages
      */
     public int getNumberOfPages() {
-        return pageRefs.size();
+        return numberOfPages;
     }
 
     /**
      * Returns the index of the first occurrence of the specified page
      * in this tree, or 0 if this tree does not contain the page.
      */
-    public int getPageNumber(PdfPage page) {
-        return pages.indexOf(page) + 1;
+    public synchronized int getPageNumber(PdfPage page) {
+        for (int i = 0; i < numberOfPages; i++) {
+            if (getCachedPage(i) == page) {
+                return i + 1;
+            }
+        }
+        // the wrapper of the flushed page might have been already dropped, look for the page dictionary then
+        PdfIndirectReference reference = page.getPdfObject().getIndirectReference();
+        if (reference != null && reference.getDocument() == document) {
+            for (int i = 0; i < numberOfPages; i++) {
+                if (pageRefs[i] == reference.getObjNumber()) {
+                    return i + 1;
+                }
+            }
+        }
+        return 0;
     }
 
     /**
      * Returns the index of the first occurrence of the page in this tree
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
-    public int getPageNumber(PdfDictionary pageDictionary) {
-        int pageNum = pageRefs.indexOf(pageDictionary);
-        if (pageNum >= 0) {
-            return pageNum + 1;
+    public synchronized int getPageNumber(PdfDictionary pageDictionary) {
+        PdfIndirectReference reference = pageDictionary.getIndirectReference();
+        if (reference == null || reference.getDocument() != document) {
+            return 0;
         }
-        for (int i = 0; i < pageRefs.size(); i++) {
-            if (pageRefs.get(i) == null) {
+        int objNr = reference.getObjNumber();
+        for (int i = 0; i < numberOfPages; i++) {
+            if (pageRefs[i] == objNr) {
+                return i + 1;
+            }
+        }
+        for (int i = 0; i < numberOfPages; i++) {
+            if (pageRefs[i] == 0) {
                 loadPage(i);
             }
-            if (pageRefs.get(i).equals(pageDictionary)) {
+            if (pageRefs[i] == objNr) {
                 return i + 1;
             }
         }
@@ -177,15 +207,15 @@ class PdfPagesTree implements Serializable {
     public void addPage(PdfPage pdfPage) {
         PdfPages pdfPages;
         if (root != null) { // in this case we save tree structure
-            if (pageRefs.size() == 0) {
+            if (numberOfPages == 0) {
                 pdfPages = root;
             } else {
-                loadPage(pageRefs.size() - 1);
+                loadPage(numberOfPages - 1);
                 pdfPages = parents.get(parents.size() - 1);
             }
         } else {
             pdfPages = parents.get(parents.size() - 1);
-            if (pdfPages.getCount() % leafSize == 0 && pageRefs.size() > 0) {
+            if (pdfPages.getCount() % leafSize == 0 && numberOfPages > 0) {
                 pdfPages = new PdfPages(pdfPages.getFrom() + pdfPages.getCount(), document);
                 parents.add(pdfPages);
             }
@@ -195,8 +225,7 @@ class PdfPagesTree implements Serializable {
         pdfPage.makeIndirect(document);
         pdfPages.addPage(pdfPage.getPdfObject());
         pdfPage.parentPages = pdfPages;
-        pageRefs.add(pdfPage.getPdfObject());
-        pages.add(pdfPage);
+        insertPage(numberOfPages, pdfPage);
     }
 
     /**
@@ -207,9 +236,9 @@ class PdfPagesTree implements Serializable {
      */
     public void addPage(int index, PdfPage pdfPage) {
         --index;
-        if (index > pageRefs.size())
+        if (index > numberOfPages)
             throw new IndexOutOfBoundsException("index");
-        if (index == pageRefs.size()) {
+        if (index == numberOfPages) {
             addPage(pdfPage);
             return;
         }
@@ -220,8 +249,7 @@ class PdfPagesTree implements Serializable {
         parentPages.addPage(index, pdfPage);
         pdfPage.parentPages = parentPages;
         correctPdfPagesFromProperty(parentIndex + 1, +1);
-        pageRefs.add(index, pdfPage.getPdfObject());
-        pages.add(index, pdfPage);
+        insertPage(index, pdfPage);
     }
 
     /**
@@ -252,12 +280,14 @@ class PdfPagesTree implements Serializable {
      * @throws PdfException in case empty document
      */
     protected PdfObject generateTree() {
-        if (pageRefs.size() == 0)
+        if (numberOfPages == 0)
             throw new PdfException(PdfException.DocumentHasNoPages);
         if (generated)
             throw new PdfException(PdfException.PdfPagesTreeCouldBeGeneratedOnlyOnce);
 
         if (root == null) {
+            // leaves are created while pages are added, since their references are written to the flushed pages,
+            // so the upper levels are built from the leaves only.
             while (parents.size() != 1) {
                 List<PdfPages> nextParents = new ArrayList<>();
                 //dynamicLeafSize helps to avoid PdfPages leaf with only one page
@@ -305,9 +335,32 @@ class PdfPagesTree implements Serializable {
         return parents.get(parentIndex);
     }
 
+    /**
+     * Drops the wrapper of the flushed page, if the page dictionary could be still obtained by its object number.
+     * The wrapper is created anew if the page is requested again.
+     *
+     * @param pdfPage the page which has been flushed
+     */
+    synchronized void releaseFlushedPage(PdfPage pdfPage) {
+        if (pages == null || !pdfPage.isFlushed() || !isPageDictionaryAvailable(pdfPage)) {
+            return;
+        }
+        int from = 0;
+        int to = numberOfPages;
+        if (pdfPage.parentPages != null && pdfPage.parentPages.getFrom() >= 0) {
+            from = pdfPage.parentPages.getFrom();
+            to = Math.min(from + pdfPage.parentPages.getCount(), numberOfPages);
+        }
+        for (int i = from; i < to; i++) {
+            if (pages[i] == pdfPage) {
+                pages[i] = null;
+                return;
+            }
+        }
+    }
+
     private void loadPage(int pageNum) {
-        PdfDictionary targetPage = pageRefs.get(pageNum);
-        if (targetPage != null)
+        if (pageRefs[pageNum] != 0)
             return;
         //if we go here, we have to split PdfPages that contains pageNum
         int parentIndex = findPageParent(pageNum);
@@ -374,11 +427,89 @@ class PdfPagesTree implements Serializable {
             // In any case parent.getCount() has higher priority.
             // NOTE optimization? when we already found needed index
             for (int i = 0; i < parent.getCount(); i++) {
-                pageRefs.set(from + i, kids.getAsDictionary(i));
+                PdfDictionary page = kids.getAsDictionary(i);
+                if (page != null) {
+                    if (page.getIndirectReference() == null) {
+                        makePageIndirect(page, parent);
+                    }
+                    pageRefs[from + i] = page.getIndirectReference().getObjNumber();
+                }
             }
         }
     }
 
+    /**
+     * Page dictionaries written directly into the /Kids array get an indirect reference, since the page wrapper
+     * works only with indirect objects. The reference is created under the lock of the xref table, since pages
+     * of the document opened for reading could be requested from the different threads.
+     */
+    private void makePageIndirect(PdfDictionary page, PdfPages parent) {
+        PdfIndirectReference reference;
+        synchronized (document.getXref()) {
+            reference = document.createNextIndirectReference();
+        }
+        reference.setRefersTo(page);
+        page.setIndirectReference(reference);
+        if (document.getWriter() != null) {
+            // the /Kids array shall be written anew with the reference to the page
+            parent.getPdfObject().setModified();
+        }
+    }
+
+    private PdfDictionary getPageDictionary(int pageNum) {
+        PdfIndirectReference reference = pageRefs[pageNum] != 0 ? document.getXref().get(pageRefs[pageNum]) : null;
+        PdfObject pageDictionary = reference != null ? reference.getRefersTo() : null;
+        if (pageDictionary == null || pageDictionary.getType() != PdfObject.DICTIONARY) {
+            throw new PdfException(PdfException.InvalidPageStructure1).setMessageParams(pageNum + 1);
+        }
+        return (PdfDictionary) pageDictionary;
+    }
+
+    // zero-based index
+    private PdfPage getCachedPage(int pageNum) {
+        Object page = pages[pageNum];
+        if (page instanceof WeakReference) {
+            return (PdfPage) ((WeakReference) page).get();
+        }
+        return (PdfPage) page;
+    }
+
+    private Object cacheEntry(PdfPage pdfPage) {
+        if (document.getWriter() == null) {
+            // pages of the document opened in reading mode can't be modified, so the wrapper could be created anew
+            return new WeakReference<>(pdfPage);
+        } else if (pdfPage.isFlushed() && isPageDictionaryAvailable(pdfPage)) {
+            return null;
+        } else {
+            return pdfPage;
+        }
+    }
+
+    private boolean isPageDictionaryAvailable(PdfPage pdfPage) {
+        PdfIndirectReference reference = pdfPage.getPdfObject().getIndirectReference();
+        // written objects could be released from the xref table in streaming append mode
+        return document.getXref().getCreatedReference(reference.getObjNumber()) == reference
+                && reference.getRefersTo(false) == pdfPage.getPdfObject();
+    }
+
+    // zero-based index
+    private void insertPage(int index, PdfPage pdfPage) {
+        if (numberOfPages == pageRefs.length) {
+            int capacity = pageRefs.length + (pageRefs.length >> 1) + 1;
+            int[] newPageRefs = new int[capacity];
+            System.arraycopy(pageRefs, 0, newPageRefs, 0, numberOfPages);
+            pageRefs = newPageRefs;
+            Object[] newPages = new Object[capacity];
+            System.arraycopy(pages, 0, newPages, 0, numberOfPages);
+            pages = newPages;
+        }
+        System.arraycopy(pageRefs, index, pageRefs, index + 1, numberOfPages - index);
+        System.arraycopy(pages, index, pages, index + 1, numberOfPages - index);
+        pageRefs[index] = pdfPage.getPdfObject().getIndirectReference().getObjNumber();
+        pages[index] = cacheEntry(pdfPage);
+        numberOfPages++;
+    }
+
     // zero-based index
     private boolean internalRemovePage(int pageNum) {
         int parentIndex = findPageParent(pageNum);
@@ -395,8 +526,11 @@ class PdfPagesTree implements Serializable {
             } else {
                 correctPdfPagesFromProperty(parentIndex + 1, -1);
             }
-            pageRefs.remove(pageNum);
-            pages.remove(pageNum);
+            numberOfPages--;
+            System.arraycopy(pageRefs, pageNum + 1, pageRefs, pageNum, numberOfPages - pageNum);
+            System.arraycopy(pages, pageNum + 1, pages, pageNum, numberOfPages - pageNum);
+            pageRefs[numberOfPages] = 0;
+            pages[numberOfPages] = null;
             return true;
         } else {
             return false;
@@ -425,4 +559,30 @@ class PdfPagesTree implements Serializable {
             }
         }
     }
+
+    /**
+     * This method is invoked while deserialization
+     */
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        pages = (Object[]) in.readObject();
+    }
+
+    /**
+     * This method is invoked while serialization
+     */
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        out.defaultWriteObject();
+        // weakly referenced and dropped wrappers are created anew on request
+        Object[] retainedPages = null;
+        if (pages != null) {
+            retainedPages = new Object[pages.length];
+            for (int i = 0; i < numberOfPages; i++) {
+                if (pages[i] instanceof PdfPage) {
+                    retainedPages[i] = pages[i];
+                }
+            }
+        }
+        out.writeObject(retainedPages);
+    }
 }
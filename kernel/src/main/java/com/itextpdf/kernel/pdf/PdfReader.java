@@ -45,15 +45,19 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.ByteBufferPool;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
+import com.itextpdf.kernel.pdf.filters.IBufferedFilterHandler;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamingFilterHandler;
 
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
@@ -265,6 +269,15 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public byte[] readStreamBytes(PdfStream stream, boolean decode) throws IOException {
+        ByteBufferPool bufferPool = getByteBufferPool();
+        if (decode && bufferPool != null) {
+            if (decrypt == null) {
+                ByteBuffer buffer = readStreamBytesRaw(stream, bufferPool);
+                return buffer != null ? decodeBytes(null, buffer, stream, FilterHandlers.getDefaultFilterHandlers(), bufferPool) : null;
+            }
+            byte[] b = readStreamBytesRaw(stream);
+            return b != null ? decodeBytes(b, null, stream, FilterHandlers.getDefaultFilterHandlers(), bufferPool) : null;
+        }
         byte[] b = readStreamBytesRaw(stream);
         if (decode && b != null) {
             return decodeBytes(b, stream);
@@ -276,11 +289,13 @@ public class PdfReader implements Closeable, Serializable {
     /**
      * Reads and decrypt stream bytes.
      * Note, this method doesn't store actual bytes in any internal structures.
+     * The method is synchronized on the reader, since the file position and the decryption state are shared,
+     * however the decoding of the read bytes may be performed concurrently.
      *
      * @return byte[] array.
      * @throws IOException on error.
      */
-    public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
+    public synchronized byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
         PdfName type = stream.getAsName(PdfName.Type);
         if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
             checkPdfStreamLength(stream);
@@ -328,7 +343,61 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     /**
-     * Reads, decrypt and optionally decode stream bytes into {@link ByteArrayInputStream}.
+     * Creates the stream, which reads not encrypted stream bytes from the source by chunks on demand.
+     *
+     * @return the stream, or {@code null} if reading was failed.
+     */
+    private synchronized InputStream readStreamRaw(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = stream.getLength();
+        if (length <= 0)
+            return new ByteArrayInputStream(new byte[0]);
+        return new RawStreamInputStream(offset, length);
+    }
+
+    /**
+     * Reads not encrypted stream bytes into the buffer taken from the pool.
+     *
+     * @return the buffer, which should be released to the pool, or {@code null} if reading was failed.
+     */
+    private synchronized ByteBuffer readStreamBytesRaw(PdfStream stream, ByteBufferPool bufferPool) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = stream.getLength();
+        ByteBuffer buffer = bufferPool.acquire(Math.max(length, 0));
+        if (length <= 0)
+            return buffer;
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(offset);
+            file.readFully(buffer.getInternalBuffer(), 0, length);
+            buffer.setSize(length);
+        } catch (IOException e) {
+            bufferPool.release(buffer);
+            throw e;
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Reads, decrypt and optionally decode stream bytes into {@link InputStream}.
+     * The bytes of the not encrypted stream are read from the source lazily, and the filters supported by
+     * {@link IStreamingFilterHandler} are applied while the returned stream is read, so that large streams
+     * could be processed without holding all their bytes in memory.
      * User is responsible for closing returned stream.
      *
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
@@ -336,8 +405,54 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        InputStream in;
+        if (decrypt != null) {
+            byte[] bytes = readStreamBytesRaw(stream);
+            in = bytes != null ? new ByteArrayInputStream(bytes) : null;
+        } else {
+            in = readStreamRaw(stream);
+        }
+        if (decode && in != null) {
+            in = decodeStream(in, stream, FilterHandlers.getDefaultFilterHandlers());
+        }
+        return in;
+    }
+
+    /**
+     * Decode the bytes of the stream applying the filters specified in the provided dictionary using
+     * the provided filter handlers. The filters supported by {@link IStreamingFilterHandler} are applied lazily,
+     * while the returned stream is read, the other ones decode the whole bytes read from the stream at once.
+     *
+     * @param in               the stream of the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream of decoded bytes
+     * @throws IOException on error.
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers) throws IOException {
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (filterHandler instanceof IStreamingFilterHandler) {
+                in = ((IStreamingFilterHandler) filterHandler).decode(in, filterName, decodeParams, streamDictionary);
+            } else {
+                byte[] b;
+                try {
+                    b = StreamUtil.inputStreamToArray(in);
+                } finally {
+                    in.close();
+                }
+                in = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams, streamDictionary));
+            }
+        }
+        return in;
     }
 
     /**
@@ -365,6 +480,60 @@ public class PdfReader implements Closeable, Serializable {
         if (b == null) {
             return null;
         }
+        return decodeBytes(b, null, streamDictionary, filterHandlers, null);
+    }
+
+    /**
+     * Gets the pool of the buffers reused for tokenizing and decoding, as defined by
+     * {@link ReaderProperties#setByteBufferPool(ByteBufferPool)}.
+     *
+     * @return the pool, or {@code null} if the buffers are not pooled.
+     */
+    public ByteBufferPool getByteBufferPool() {
+        return properties != null ? properties.byteBufferPool : null;
+    }
+
+    /**
+     * Decodes either the bytes of the array or the bytes of the buffer. If the pool is specified, the filters which
+     * support it decode into the pooled buffers, and the buffers, including the passed one, are released to the pool.
+     */
+    private static byte[] decodeBytes(byte[] b, ByteBuffer buffer, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers, ByteBufferPool bufferPool) {
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (bufferPool != null && filterHandler instanceof IBufferedFilterHandler) {
+                ByteBuffer input = buffer;
+                buffer = bufferPool.acquire();
+                if (input != null) {
+                    ((IBufferedFilterHandler) filterHandler).decode(input.getInternalBuffer(), 0, input.size(), buffer, filterName, decodeParams, streamDictionary);
+                    bufferPool.release(input);
+                } else {
+                    ((IBufferedFilterHandler) filterHandler).decode(b, 0, b.length, buffer, filterName, decodeParams, streamDictionary);
+                    b = null;
+                }
+            } else {
+                if (buffer != null) {
+                    b = buffer.toByteArray();
+                    bufferPool.release(buffer);
+                    buffer = null;
+                }
+                b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
+            }
+        }
+        if (buffer != null) {
+            b = buffer.toByteArray();
+            bufferPool.release(buffer);
+        }
+        return b;
+    }
+
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
         PdfObject filter = streamDictionary.get(PdfName.Filter);
         PdfArray filters = new PdfArray();
         if (filter != null) {
@@ -374,6 +543,10 @@ public class PdfReader implements Closeable, Serializable {
                 filters = ((PdfArray) filter);
             }
         }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParams(PdfDictionary streamDictionary) {
         PdfArray dp = new PdfArray();
         PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
         if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
@@ -388,28 +561,21 @@ public class PdfReader implements Closeable, Serializable {
             }
             dpo.release();
         }
-        for (int j = 0; j < filters.size(); ++j) {
-            PdfName filterName = (PdfName) filters.get(j);
-            IFilterHandler filterHandler = filterHandlers.get(filterName);
-            if (filterHandler == null)
-                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+        return dp;
+    }
 
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
-                }
+    private static PdfDictionary getDecodeParams(PdfArray dp, int filterIndex) {
+        if (filterIndex < dp.size()) {
+            PdfObject dpEntry = dp.get(filterIndex, true);
+            if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+                return null;
+            } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+                return (PdfDictionary) dpEntry;
             } else {
-                decodeParams = null;
+                throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
             }
-            b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
         }
-        return b;
+        return null;
     }
 
     /**
@@ -539,7 +705,7 @@ public class PdfReader implements Closeable, Serializable {
         byte[] bytes = readStreamBytes(objectStream, true);
         PdfTokenizer saveTokens = tokens;
         try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)), getByteBufferPool());
             int[] address = new int[n];
             int[] objNumber = new int[n];
             boolean ok = true;
@@ -575,19 +741,34 @@ public class PdfReader implements Closeable, Serializable {
                 }
                 PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
                 // Check if this object has no incremental updates (e.g. no append mode)
-                if (reference.getObjStreamNumber() == objectStreamNumber) {
+                if (reference != null && reference.getObjStreamNumber() == objectStreamNumber) {
                     reference.setRefersTo(obj);
                     obj.setIndirectReference(reference);
                 }
             }
             objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
         } finally {
+            if (tokens != saveTokens) {
+                tokens.close();
+            }
             tokens = saveTokens;
         }
     }
 
-    protected PdfObject readObject(PdfIndirectReference reference) {
-        return readObject(reference, true);
+    /**
+     * Reads the object the reference refers to and binds them to each other.
+     * The method is synchronized on the reader, so that pages of the same document could be read
+     * from the different threads, while each object is read only once.
+     *
+     * @param reference the reference to the object to be read.
+     * @return the read object, or {@code null} if the object could not be read.
+     */
+    protected synchronized PdfObject readObject(PdfIndirectReference reference) {
+        PdfObject object = readObject(reference, true);
+        if (object != null && reference.refersTo == null) {
+            reference.refersTo = object;
+        }
+        return object;
     }
 
     protected PdfObject readObject(boolean readAsDirect) throws IOException {
@@ -818,9 +999,14 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                // Indirect references are created for in-use entries only on request, see PdfXrefTable#get(int)
+                PdfIndirectReference reference = xref.getCreatedReference(num);
+                boolean newEntry = false;
                 if (reference == null) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    if (xref.contains(num)) {
+                        continue;
+                    }
+                    newEntry = true;
                 } else if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
@@ -828,13 +1014,14 @@ public class PdfReader implements Closeable, Serializable {
                     continue;
                 }
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
-                    if (xref.get(num) == null) {
+                    if (newEntry) {
                         if (pos == 0)
                             tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
-                        xref.add(reference);
+                        xref.addReadEntry(pdfDocument, num, gen, pos, 0);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (xref.get(num) == null) {
+                    if (newEntry) {
+                        reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
                         reference.setFree();
                         xref.add(reference);
                     }
@@ -935,36 +1122,41 @@ public class PdfReader implements Closeable, Serializable {
                     field3 = (field3 << 8) + (b[bptr++] & 0xff);
                 }
                 int base = start;
-                PdfIndirectReference newReference;
+                int genNr;
+                long offsetOrIndex;
+                int objStreamNumber = 0;
                 switch (type) {
                     case 0:
-                        if (base == 0) {
-                            //indirect reference with number = 0 can't be overridden
-                            //xref table already has indirect reference 0 65535 R
-                            newReference = xref.get(base);
-                        } else {
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, 0);
-                            newReference.setFree();
-                        }
+                        genNr = field3;
+                        offsetOrIndex = 0;
                         break;
                     case 1:
-                        newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                        genNr = field3;
+                        offsetOrIndex = field2;
                         break;
                     case 2:
-                        newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                        newReference.setObjStreamNumber((int) field2);
+                        genNr = 0;
+                        offsetOrIndex = field3;
+                        objStreamNumber = (int) field2;
                         break;
                     default:
                         throw new PdfException(PdfException.InvalidXrefStream);
                 }
-                if (xref.get(base) == null) {
-                    xref.add(newReference);
-                } else if (xref.get(base).checkState(PdfObject.READING)
-                        && xref.get(base).getObjNumber() == newReference.getObjNumber()
-                        && xref.get(base).getGenNumber() == newReference.getGenNumber()) {
-                    PdfIndirectReference reference = xref.get(base);
-                    reference.setOffset(newReference.getOffset());
-                    reference.setObjStreamNumber(newReference.getObjStreamNumber());
+                // Indirect references are created for in-use entries only on request, see PdfXrefTable#get(int)
+                PdfIndirectReference reference = xref.getCreatedReference(base);
+                if (reference == null) {
+                    if (!xref.contains(base)) {
+                        if (type == 0) {
+                            PdfIndirectReference freeReference = new PdfIndirectReference(pdfDocument, base, genNr, 0);
+                            freeReference.setFree();
+                            xref.add(freeReference);
+                        } else {
+                            xref.addReadEntry(pdfDocument, base, genNr, offsetOrIndex, objStreamNumber);
+                        }
+                    }
+                } else if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr) {
+                    reference.setOffset(offsetOrIndex);
+                    reference.setObjStreamNumber(objStreamNumber);
                     reference.clearState(PdfObject.READING);
                 }
                 ++start;
@@ -1205,6 +1397,79 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Reads the bytes of the stream from the source by chunks. Each chunk is read under the lock of the reader,
+     * since the source is shared with the reader, so the stream could be read concurrently with the document.
+     */
+    private class RawStreamInputStream extends InputStream {
+        private static final int CHUNK_SIZE = 8192;
+
+        private RandomAccessFileOrArray file;
+        private long position;
+        private long remaining;
+        private byte[] chunk;
+        private int chunkPos;
+        private int chunkLength;
+
+        RawStreamInputStream(long offset, int length) {
+            this.position = offset;
+            this.remaining = length;
+            this.chunk = new byte[Math.min(length, CHUNK_SIZE)];
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (chunkPos == chunkLength && !readChunk())
+                return -1;
+            return chunk[chunkPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (chunkPos == chunkLength && !readChunk())
+                return -1;
+            int n = Math.min(len, chunkLength - chunkPos);
+            System.arraycopy(chunk, chunkPos, b, off, n);
+            chunkPos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, chunkLength - chunkPos + remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            remaining = 0;
+            chunkPos = chunkLength = 0;
+            if (file != null) {
+                file.close();
+                file = null;
+            }
+        }
+
+        private boolean readChunk() throws IOException {
+            if (remaining <= 0)
+                return false;
+            int n = (int) Math.min(remaining, chunk.length);
+            synchronized (PdfReader.this) {
+                if (file == null) {
+                    file = tokens.getSafeFile();
+                }
+                file.seek(position);
+                file.readFully(chunk, 0, n);
+            }
+            position += n;
+            remaining -= n;
+            chunkPos = 0;
+            chunkLength = n;
+            return true;
+        }
+    }
+
     protected static class ReusableRandomAccessSource implements IRandomAccessSource {
         private ByteBuffer buffer;
 
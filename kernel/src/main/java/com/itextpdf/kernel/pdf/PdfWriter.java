@@ -56,9 +56,18 @@ import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import static com.itextpdf.io.source.ByteUtils.getIsoBytes;
 
@@ -69,6 +78,17 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     private static final byte[] obj = getIsoBytes(" obj\n");
     private static final byte[] endobj = getIsoBytes("\nendobj\n");
 
+    /**
+     * Subtypes of the embedded font programs, see {@link #getStreamType(PdfStream)}.
+     */
+    private static final Set<PdfName> fontFileSubtypes = new HashSet<>(Arrays.asList(
+            new PdfName("Type1C"), new PdfName("CIDFontType0C"), new PdfName("OpenType")));
+
+    /**
+     * Max number of streams per compression thread which may wait for writing at the same time.
+     */
+    private static final int MAX_PENDING_STREAMS_PER_THREAD = 4;
+
     // For internal usage only
     private PdfOutputStream duplicateStream = null;
 
@@ -88,10 +108,24 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     protected Map<Integer, PdfIndirectReference> copiedObjects = new HashMap<>();
 
     /**
-     * Is used in smart mode to store serialized objects content.
+     * Is used in smart mode to find previously copied objects by the digests of their content.
+     */
+    private HashMap<PdfObjectDigest, PdfIndirectReference> digestToObjectRef = new HashMap<>();
+
+    /**
+     * Is used in smart mode to calculate the digests of the objects content.
      */
-    private HashMap<SerializedPdfObject, PdfIndirectReference> serializedContentToObjectRef = new HashMap<>();
-    private HashMap<Integer, byte[]> objectRefToSerializedContent = new HashMap<>();
+    private transient SmartModeDigester smartModeDigester;
+
+    /**
+     * Compresses streams in parallel if it is enabled by {@link WriterProperties#useParallelCompression(int)}.
+     */
+    private transient ExecutorService compressionExecutor;
+
+    /**
+     * Streams which content is being compressed in parallel, in the order they were flushed.
+     */
+    private transient ArrayDeque<PendingStream> pendingStreams;
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -114,6 +148,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         if (properties.debugMode) {
             setDebugMode();
         }
+        if (properties.compressionThreadCount > 0) {
+            compressionExecutor = Executors.newFixedThreadPool(properties.compressionThreadCount, new CompressionThreadFactory());
+            pendingStreams = new ArrayDeque<>();
+        }
     }
 
     public PdfWriter(String filename) throws FileNotFoundException {
@@ -154,6 +192,31 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return this;
     }
 
+    /**
+     * Gets the compression level for the stream which doesn't have its own one: the level defined for the kind
+     * of the stream by {@link WriterProperties#setCompressionLevel(PdfName, int)}, or the default compression level.
+     *
+     * @param pdfStream the stream which is going to be written.
+     * @return compression level.
+     */
+    int getCompressionLevel(PdfStream pdfStream) {
+        Integer compressionLevel = properties.streamCompressionLevels != null && !properties.streamCompressionLevels.isEmpty() ?
+                properties.streamCompressionLevels.get(getStreamType(pdfStream)) : null;
+        return compressionLevel != null ? (int) compressionLevel : getCompressionLevel();
+    }
+
+    /**
+     * Gets the compression strategy for the stream, see {@link WriterProperties#setCompressionStrategy(PdfName, int)}.
+     *
+     * @param pdfStream the stream which is going to be compressed.
+     * @return compression strategy.
+     */
+    int getCompressionStrategy(PdfStream pdfStream) {
+        Integer compressionStrategy = properties.streamCompressionStrategies != null && !properties.streamCompressionStrategies.isEmpty() ?
+                properties.streamCompressionStrategies.get(getStreamType(pdfStream)) : null;
+        return compressionStrategy != null ? (int) compressionStrategy : CompressionConstants.DEFAULT_STRATEGY;
+    }
+
     /**
      * Sets the smart mode.
      * <p/>
@@ -194,6 +257,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
     @Override
     public void close() throws IOException {
+        if (compressionExecutor != null) {
+            compressionExecutor.shutdownNow();
+            compressionExecutor = null;
+            pendingStreams = null;
+        }
         try {
             super.close();
         } finally {
@@ -235,14 +303,21 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushObject(PdfObject pdfObject, boolean canBeInObjStm) throws IOException {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        boolean written = true;
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
+        } else if (writeToBodyInParallel(pdfObject)) {
+            // the offset is known only when the pending stream is written
+            written = false;
         } else {
             indirectReference.setOffset(getCurrentPos());
             writeToBody(pdfObject);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+        if (written) {
+            releaseWrittenReference(indirectReference);
+        }
         switch (pdfObject.getType()) {
             case PdfObject.BOOLEAN:
             case PdfObject.NAME:
@@ -336,6 +411,23 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         writeBytes(endobj);
     }
 
+    /**
+     * Writes all streams which are being compressed in parallel and stops parallel compression.
+     * Streams flushed after this call are compressed sequentially.
+     * Must be called before writing cross-reference table, because it requires offsets of all flushed objects.
+     */
+    protected void flushPendingStreams() {
+        if (compressionExecutor == null) {
+            return;
+        }
+        while (!pendingStreams.isEmpty()) {
+            writePendingStream(pendingStreams.poll());
+        }
+        compressionExecutor.shutdown();
+        compressionExecutor = null;
+        pendingStreams = null;
+    }
+
     /**
      * Writes PDF header.
      */
@@ -354,7 +446,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getCreatedReference(i);
                 if (indirectReference != null
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)) {
                     PdfObject obj = indirectReference.getRefersTo(false);
@@ -377,8 +469,10 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     protected void flushModifiedWaitingObjects() {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
-            if (null != indirectReference) {
+            PdfIndirectReference indirectReference = xref.getCreatedReference(i);
+            // released objects are not read again, they couldn't be modified
+            if (null != indirectReference && !indirectReference.isFree()
+                    && indirectReference.checkState(PdfObject.MODIFIED)) {
                 PdfObject obj = indirectReference.getRefersTo(false);
                 if (obj != null && !obj.equals(objectStream) && obj.isModified()) {
                     obj.flush();
@@ -418,26 +512,128 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
     /**
      * Used in the smart mode.
-     * It serializes given object content and tries to find previously copied object with the same content.
-     * If already copied object is not found, it saves current object serialized content into the map.
+     * It calculates the digest of the given object content and tries to find previously copied object with the same digest.
+     * If already copied object is not found, it saves the digest of the current object into the map.
      *
      * @param object an object to check if some other object with the same content was already copied.
      * @return indirect reference of the object with the same content, which already has a copy in the new document.
      */
     private PdfIndirectReference tryToFindPreviouslyCopiedEqualObject(PdfObject object) {
-        SerializedPdfObject objectKey;
         if (object.isStream() || object.isDictionary()) {
-            objectKey = new SerializedPdfObject(object, objectRefToSerializedContent);
-            PdfIndirectReference objectRef = serializedContentToObjectRef.get(objectKey);
-            if (objectRef != null) {
+            if (smartModeDigester == null) {
+                smartModeDigester = new SmartModeDigester();
+            }
+            PdfObjectDigest digest = smartModeDigester.digest(object);
+            PdfIndirectReference objectRef = digestToObjectRef.get(digest);
+            if (objectRef == null) {
+                digestToObjectRef.put(digest, object.getIndirectReference());
+            } else if (isEqualToPreviouslyCopiedObject(object, objectRef)) {
                 return objectRef;
             }
-            serializedContentToObjectRef.put(objectKey, object.getIndirectReference());
         }
 
         return null;
     }
 
+    /**
+     * Used in the smart mode.
+     * Is called when the object which is going to be copied has the same content digest as the previously copied object.
+     * The digests are 128-bit, so they are trusted by default. The method may be overridden to verify
+     * the content of the objects in order to rule out the digest collisions.
+     *
+     * @param object                    the object which is going to be copied.
+     * @param previouslyCopiedObjectRef indirect reference of the object with the same digest, which already has a copy in the new document.
+     * @return true if the copy of the previously copied object shall be used instead of copying the object.
+     */
+    protected boolean isEqualToPreviouslyCopiedObject(PdfObject object, PdfIndirectReference previouslyCopiedObjectRef) {
+        return true;
+    }
+
+    /**
+     * Used in the parallel compression mode.
+     * Serializes the stream dictionary and submits the stream content for compression to the worker threads.
+     * The stream is written to the body later, when its content is compressed,
+     * the order in which streams were flushed is kept.
+     *
+     * @param pdfObject object to write.
+     * @return true if the object is taken for writing, false if it shall be written as usual.
+     * @throws IOException on error.
+     */
+    private boolean writeToBodyInParallel(PdfObject pdfObject) throws IOException {
+        if (compressionExecutor == null || crypto != null || !pdfObject.isStream()
+                || ((PdfStream) pdfObject).getInputStream() != null) {
+            return false;
+        }
+        PdfStream pdfStream = (PdfStream) pdfObject;
+        boolean userDefinedCompression = applyDefaultCompressionLevel(pdfStream);
+        boolean compress = prepareStreamContent(pdfStream, userDefinedCompression);
+        // content shall be taken before the stream is released, object stream buffers are also reused.
+        final ByteArrayOutputStream content = getStreamContent(pdfStream);
+        final int compressionLevel = pdfStream.getCompressionLevel();
+        final int compressionStrategy = getCompressionStrategy(pdfStream);
+
+        PdfDictionary dictionary = new PdfDictionary(pdfStream);
+        dictionary.remove(PdfName.Length);
+        ByteArrayOutputStream serializedDictionary = new ByteArrayOutputStream();
+        PdfOutputStream dictionaryStream = new PdfOutputStream(serializedDictionary);
+        dictionaryStream.document = document;
+        dictionaryStream.write(dictionary);
+
+        PendingStream pendingStream = new PendingStream(pdfStream.getIndirectReference(), serializedDictionary.toByteArray());
+        if (compress) {
+            pendingStream.content = compressionExecutor.submit(new Callable<ByteArrayOutputStream>() {
+                @Override
+                public ByteArrayOutputStream call() throws IOException {
+                    return compressStreamContent(content, compressionLevel, compressionStrategy);
+                }
+            });
+            pendingStreams.add(pendingStream);
+            if (pendingStreams.size() > MAX_PENDING_STREAMS_PER_THREAD * properties.compressionThreadCount) {
+                writePendingStream(pendingStreams.poll());
+            }
+        } else {
+            pendingStream.uncompressedContent = content;
+            writePendingStream(pendingStream);
+        }
+        return true;
+    }
+
+    private void writePendingStream(PendingStream pendingStream) {
+        ByteArrayOutputStream content;
+        try {
+            content = pendingStream.content != null ? pendingStream.content.get() : pendingStream.uncompressedContent;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotWriteToPdfStream, e);
+        } catch (ExecutionException e) {
+            throw new PdfException(PdfException.CannotWriteToPdfStream, e.getCause());
+        }
+        PdfIndirectReference indirectReference = pendingStream.indirectReference;
+        indirectReference.setOffset(getCurrentPos());
+        writeInteger(indirectReference.getObjNumber()).
+                writeSpace().
+                writeInteger(indirectReference.getGenNumber()).writeBytes(obj);
+        try {
+            writeStream(pendingStream.serializedDictionary, content);
+        } catch (IOException e) {
+            throw new PdfException(PdfException.CannotWriteToPdfStream, e);
+        }
+        writeBytes(endobj);
+        releaseWrittenReference(indirectReference);
+    }
+
+    /**
+     * Used in the streaming append mode, see {@link StampingProperties#useStreamingAppendMode()}.
+     * Keeps only the cross-reference entry of the written object instead of its indirect reference.
+     *
+     * @param indirectReference indirect reference of the written object.
+     */
+    private void releaseWrittenReference(PdfIndirectReference indirectReference) {
+        if (document.properties.streamingAppendMode) {
+            document.getXref().releaseWrittenReference(indirectReference);
+        }
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -512,123 +708,199 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         outputStream = tempOutputStream;
     }
 
-    static class SerializedPdfObject {
-        private final byte[] serializedContent;
+    /**
+     * Gets the kind of the stream used to choose its compression level and strategy.
+     */
+    private static PdfName getStreamType(PdfStream pdfStream) {
+        if (pdfStream.containsKey(PdfName.Length1)) {
+            return PdfName.FontFile;
+        }
+        PdfName subtype = pdfStream.getAsName(PdfName.Subtype);
+        if (subtype != null) {
+            return fontFileSubtypes.contains(subtype) ? PdfName.FontFile : subtype;
+        }
+        PdfName type = pdfStream.getAsName(PdfName.Type);
+        return type != null ? type : PdfName.Contents;
+    }
+
+    /**
+     * Stream which is waiting for writing to the body in the parallel compression mode.
+     */
+    private static class PendingStream {
+        private final PdfIndirectReference indirectReference;
+        private final byte[] serializedDictionary;
+        private Future<ByteArrayOutputStream> content;
+        private ByteArrayOutputStream uncompressedContent;
+
+        PendingStream(PdfIndirectReference indirectReference, byte[] serializedDictionary) {
+            this.indirectReference = indirectReference;
+            this.serializedDictionary = serializedDictionary;
+        }
+    }
+
+    private static class CompressionThreadFactory implements ThreadFactory {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = defaultFactory.newThread(r);
+            // unclosed writer must not prevent JVM from exiting
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Digest of the object content, which is used as a key in the smart mode.
+     */
+    static final class PdfObjectDigest implements Serializable {
+
+        private static final long serialVersionUID = 2347284923488752436L;
+
+        private final byte[] digest;
         private final int hash;
 
-        private MessageDigest md5;
-        private HashMap<Integer, byte[]> objToSerializedContent;
+        PdfObjectDigest(byte[] digest) {
+            this.digest = digest;
+            this.hash = (digest[0] & 0xff) << 24 | (digest[1] & 0xff) << 16 | (digest[2] & 0xff) << 8 | digest[3] & 0xff;
+        }
 
-        SerializedPdfObject(PdfObject obj, HashMap<Integer, byte[]> objToSerializedContent) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof PdfObjectDigest && hash == obj.hashCode() && Arrays.equals(digest, ((PdfObjectDigest) obj).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Calculates the digests of the objects content in the smart mode.
+     * The digest of a dictionary, stream or array is calculated from its primitive values and from the digests of
+     * the nested dictionaries, streams and arrays, so the object graph is hashed in one pass without serializing it.
+     * The digests of the indirect objects are memoized, thus each indirect object is hashed only once.
+     */
+    static class SmartModeDigester {
+        private static final int MAX_LEVEL = 100;
+
+        private final HashMap<Integer, PdfObjectDigest> objectRefToDigest = new HashMap<>();
+        // digests are reused, one per nesting level
+        private final MessageDigest[] digests = new MessageDigest[MAX_LEVEL + 1];
+
+        PdfObjectDigest digest(PdfObject obj) {
             assert obj.isDictionary() || obj.isStream();
 
-            this.objToSerializedContent = objToSerializedContent;
-            try {
-                md5 = MessageDigest.getInstance("MD5");
-            } catch (Exception e) {
-                throw new PdfException(e);
+            PdfIndirectReference reference = obj.getIndirectReference();
+            if (reference == null) {
+                return new PdfObjectDigest(digestContainer(obj, MAX_LEVEL));
             }
-            ByteBufferOutputStream bb = new ByteBufferOutputStream();
-            int level = 100;
-            serObject(obj, level, bb);
-            this.serializedContent = bb.toByteArray();
-            hash = calculateHash(this.serializedContent);
-            md5 = null;
-        }
-
-        // TODO 2: object is not checked if it was already serialized on start, double work could be done
-        // TODO 3: indirect objects often stored multiple times as parts of the other objects
-        private void serObject(PdfObject obj, int level, ByteBufferOutputStream bb) {
-            if (level <= 0)
-                return;
-            if (obj == null) {
-                bb.append("$Lnull");
-                return;
-            }
-            PdfIndirectReference reference = null;
-            ByteBufferOutputStream savedBb = null;
-            int indRefKey = -1;
-
-            if (obj.isIndirectReference()) {
-                reference = (PdfIndirectReference) obj;
-                indRefKey = calculateIndRefKey(reference);
-                byte[] cached = objToSerializedContent.get(indRefKey);
-                if (cached != null) {
-                    bb.append(cached);
-                    return;
-                } else {
-                    savedBb = bb;
-                    bb = new ByteBufferOutputStream();
-                    obj = reference.getRefersTo();
-                }
+            int indRefKey = calculateIndRefKey(reference);
+            PdfObjectDigest digest = objectRefToDigest.get(indRefKey);
+            if (digest == null) {
+                digest = new PdfObjectDigest(digestContainer(obj, MAX_LEVEL));
+                objectRefToDigest.put(indRefKey, digest);
             }
+            return digest;
+        }
 
+        private byte[] digestContainer(PdfObject obj, int level) {
+            MessageDigest md = getMessageDigest(MAX_LEVEL - level);
             if (obj.isStream()) {
-                bb.append("$B");
-                serDic((PdfDictionary) obj, level - 1, bb);
-                if (level > 0) {
-                    md5.reset();
-                    bb.append(md5.digest(((PdfStream) obj).getBytes(false)));
-                }
+                md.update((byte) 'B');
+                digestDictionary((PdfDictionary) obj, level, md);
+                byte[] bytes = ((PdfStream) obj).getBytes(false);
+                updateLength(md, bytes.length);
+                md.update(bytes);
             } else if (obj.isDictionary()) {
-                serDic((PdfDictionary) obj, level - 1, bb);
-            } else if (obj.isArray()) {
-                serArray((PdfArray) obj, level - 1, bb);
-            } else if (obj.isString()) {
-                bb.append("$S").append(obj.toString());
-            } else if (obj.isName()) {
-                bb.append("$N").append(obj.toString());
-            } else
-                bb.append("$L").append(obj.toString()); // PdfNull case is also here
-
-            if (savedBb != null) {
-                objToSerializedContent.put(indRefKey, bb.getBuffer());
-                savedBb.append(bb);
+                md.update((byte) 'D');
+                digestDictionary((PdfDictionary) obj, level, md);
+            } else {
+                md.update((byte) 'A');
+                PdfArray array = (PdfArray) obj;
+                for (int k = 0; k < array.size(); ++k) {
+                    digestValue(array.get(k, false), level - 1, md);
+                }
             }
+            return md.digest();
         }
 
-        private void serDic(PdfDictionary dic, int level, ByteBufferOutputStream bb) {
-            bb.append("$D");
-            if (level <= 0)
-                return;
+        private void digestDictionary(PdfDictionary dic, int level, MessageDigest md) {
             PdfName[] keys = new PdfName[dic.keySet().size()];
             keys = dic.keySet().toArray(keys);
             Arrays.sort(keys);
-            for (Object key : keys) {
-                if (key.equals(PdfName.P) && (dic.get((PdfName) key).isIndirectReference() || dic.get((PdfName) key).isDictionary()) || key.equals(PdfName.Parent)) // ignore recursive call
+            for (PdfName key : keys) {
+                PdfObject value = dic.get(key, false);
+                // ignore recursive call
+                if (key.equals(PdfName.Parent) || key.equals(PdfName.P) && value != null && (value.isIndirectReference() || value.isDictionary())) {
                     continue;
-                serObject((PdfObject) key, level, bb);
-                serObject(dic.get((PdfName) key, false), level, bb);
-
+                }
+                digestValue(key, level - 1, md);
+                digestValue(value, level - 1, md);
             }
         }
 
-        private void serArray(PdfArray array, int level, ByteBufferOutputStream bb) {
-            bb.append("$A");
-            if (level <= 0)
+        private void digestValue(PdfObject obj, int level, MessageDigest md) {
+            if (level <= 0) {
                 return;
-            for (int k = 0; k < array.size(); ++k) {
-                serObject(array.get(k, false), level, bb);
             }
-        }
-
-        private static int calculateHash(byte[] b) {
-            int hash = 0;
-            int len = b.length;
-            for (int k = 0; k < len; ++k) {
-                hash = hash * 31 + (b[k] & 0xff);
+            if (obj != null && obj.isIndirectReference()) {
+                PdfIndirectReference reference = (PdfIndirectReference) obj;
+                int indRefKey = calculateIndRefKey(reference);
+                PdfObjectDigest digest = objectRefToDigest.get(indRefKey);
+                if (digest == null) {
+                    obj = reference.getRefersTo();
+                    if (obj != null && (obj.isDictionary() || obj.isArray() || obj.isStream())) {
+                        digest = new PdfObjectDigest(digestContainer(obj, level));
+                        objectRefToDigest.put(indRefKey, digest);
+                    }
+                }
+                if (digest != null) {
+                    md.update((byte) 'C');
+                    md.update(digest.digest);
+                    return;
+                }
+            }
+            if (obj == null) {
+                md.update((byte) 'Z');
+            } else if (obj.isDictionary() || obj.isArray() || obj.isStream()) {
+                md.update((byte) 'C');
+                md.update(digestContainer(obj, level));
+            } else if (obj.isString()) {
+                md.update((byte) 'S');
+                byte[] bytes = ((PdfString) obj).getValueBytes();
+                updateLength(md, bytes.length);
+                md.update(bytes);
+            } else {
+                // PdfNull case is also here
+                md.update(obj.isName() ? (byte) 'N' : (byte) 'L');
+                byte[] content = ((PdfPrimitiveObject) obj).getInternalContent();
+                if (content != null) {
+                    updateLength(md, content.length);
+                    md.update(content);
+                }
             }
-            return hash;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            return obj instanceof SerializedPdfObject && hashCode() == obj.hashCode() && Arrays.equals(serializedContent, ((SerializedPdfObject) obj).serializedContent);
+        private MessageDigest getMessageDigest(int depth) {
+            if (digests[depth] == null) {
+                try {
+                    digests[depth] = MessageDigest.getInstance("MD5");
+                } catch (Exception e) {
+                    throw new PdfException(e);
+                }
+            } else {
+                digests[depth].reset();
+            }
+            return digests[depth];
         }
 
-        @Override
-        public int hashCode() {
-            return hash;
+        private static void updateLength(MessageDigest md, int length) {
+            md.update((byte) (length >>> 24));
+            md.update((byte) (length >>> 16));
+            md.update((byte) (length >>> 8));
+            md.update((byte) length);
         }
     }
 }
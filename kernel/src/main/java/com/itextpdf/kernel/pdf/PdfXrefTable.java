@@ -52,6 +52,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -70,6 +72,31 @@ class PdfXrefTable implements Serializable {
 
     private final TreeSet<Integer> freeReferences;
 
+    /**
+     * Compact index of the in-use entries read from the cross-reference sections of the document.
+     * Indirect references for these entries are created only on request, see {@link #get(int)},
+     * so that the memory consumption at document opening doesn't depend on the number of objects in it.
+     * The bit is set if the entry is read, but its indirect reference is not created yet.
+     */
+    private BitSet readEntries;
+    /**
+     * Compact index of the entries of the objects written in streaming append mode, see
+     * {@link StampingProperties#useStreamingAppendMode()}. The indirect references of the written objects
+     * are released after writing, only their cross-reference entries are kept.
+     * The bit is set if the object is written, but its indirect reference was released.
+     */
+    private BitSet writtenEntries;
+    /**
+     * Offsets of the read or written entries, or indexes inside object streams for compressed objects.
+     */
+    private long[] entryOffsets;
+    private int[] entryGenNumbers;
+    private int[] entryObjStreamNumbers;
+    /**
+     * Document the compact entries belong to.
+     */
+    private PdfDocument entriesDocument;
+
     public PdfXrefTable() {
         this(INITIAL_CAPACITY);
     }
@@ -96,6 +123,12 @@ class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (readEntries != null) {
+            readEntries.clear(objNr);
+        }
+        if (writtenEntries != null) {
+            writtenEntries.clear(objNr);
+        }
         return reference;
     }
 
@@ -103,13 +136,123 @@ class PdfXrefTable implements Serializable {
         return count + 1;
     }
 
+    /**
+     * Gets indirect reference by object number. If the entry was read from the cross-reference section
+     * and its indirect reference was not requested before, the reference is created.
+     * The same is done for the entries of the objects written in streaming append mode,
+     * such references are created in flushed state.
+     *
+     * @param index object number.
+     * @return indirect reference, or {@code null} if there is no such entry in the table.
+     */
     public PdfIndirectReference get(int index) {
         if (index > count) {
             return null;
         }
+        if (readEntries != null || writtenEntries != null) {
+            return getEntryReference(index);
+        }
         return xref[index];
     }
 
+    /**
+     * Gets indirect reference by object number only if it was already created.
+     * Unlike {@link #get(int)} it doesn't create references for the read entries,
+     * these entries are neither modified, nor flushed.
+     *
+     * @param index object number.
+     * @return indirect reference, or {@code null} if the reference was not created.
+     */
+    PdfIndirectReference getCreatedReference(int index) {
+        if (index > count) {
+            return null;
+        }
+        return xref[index];
+    }
+
+    /**
+     * Checks if the table has an entry for the object number, either created indirect reference
+     * or the read or written entry.
+     *
+     * @param index object number.
+     * @return true if the table has an entry, otherwise false.
+     */
+    boolean contains(int index) {
+        return index <= count && (xref[index] != null || readEntries != null && readEntries.get(index)
+                || writtenEntries != null && writtenEntries.get(index));
+    }
+
+    /**
+     * Adds in-use entry read from the cross-reference section. The indirect reference is created
+     * on the first request, see {@link #get(int)}.
+     *
+     * @param document        the document which is read.
+     * @param objNr           object number.
+     * @param genNr           generation number.
+     * @param offsetOrIndex   object offset, or its index in the object stream.
+     * @param objStreamNumber number of the object stream containing the object, or zero.
+     */
+    void addReadEntry(PdfDocument document, int objNr, int genNr, long offsetOrIndex, int objStreamNumber) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (readEntries == null) {
+            readEntries = new BitSet(xref.length);
+            initEntryColumns(document);
+        }
+        xref[objNr] = null;
+        readEntries.set(objNr);
+        entryOffsets[objNr] = offsetOrIndex;
+        entryGenNumbers[objNr] = genNr;
+        entryObjStreamNumbers[objNr] = objStreamNumber;
+    }
+
+    /**
+     * Releases indirect reference of the object written in streaming append mode. Only the cross-reference
+     * entry of the object is kept, the reference is created again in flushed state on request, see {@link #get(int)}.
+     * The reference is kept as is, if it is not modified or is not the one the table holds.
+     *
+     * @param reference indirect reference of the written object.
+     */
+    void releaseWrittenReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (objNr > count || xref[objNr] != reference || reference.isFree()
+                || !reference.checkState(PdfObject.MODIFIED)) {
+            return;
+        }
+        if (writtenEntries == null) {
+            writtenEntries = new BitSet(xref.length);
+            initEntryColumns(reference.getDocument());
+        }
+        xref[objNr] = null;
+        writtenEntries.set(objNr);
+        entryOffsets[objNr] = reference.offsetOrIndex;
+        entryGenNumbers[objNr] = reference.getGenNumber();
+        entryObjStreamNumbers[objNr] = reference.getObjStreamNumber();
+    }
+
+    /**
+     * Gets indirect reference for the entry and creates it for the read or written entry, if it wasn't created yet.
+     * The method is synchronized, since pages of the document opened for reading could be requested from
+     * the different threads: the lazily created references are both created and read under the lock,
+     * so that the other threads see them fully initialized.
+     */
+    private synchronized PdfIndirectReference getEntryReference(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && readEntries != null && readEntries.get(index)) {
+            reference = new PdfIndirectReference(entriesDocument, index, entryGenNumbers[index], entryOffsets[index]);
+            reference.setObjStreamNumber(entryObjStreamNumbers[index]);
+            xref[index] = reference;
+            readEntries.clear(index);
+        } else if (reference == null && writtenEntries != null && writtenEntries.get(index)) {
+            reference = new PdfIndirectReference(entriesDocument, index, entryGenNumbers[index], entryOffsets[index]);
+            reference.setObjStreamNumber(entryObjStreamNumbers[index]);
+            reference.setState(PdfObject.FLUSHED).setState(PdfObject.MODIFIED);
+            xref[index] = reference;
+            writtenEntries.clear(index);
+        }
+        return reference;
+    }
+
     /**
      * Creates next available indirect reference.
      *
@@ -119,7 +262,7 @@ class PdfXrefTable implements Serializable {
         PdfIndirectReference reference;
         if (freeReferences.size() > 0) {
             int num = (int) freeReferences.pollFirst();
-            reference = xref[num];
+            reference = get(num);
             if (reference == null) {
                 reference = new PdfIndirectReference(document, num);
                 xref[num] = reference;
@@ -169,10 +312,11 @@ class PdfXrefTable implements Serializable {
      */
     protected void writeXrefTableAndTrailer(PdfDocument document, PdfObject fileId, PdfObject crypto) throws IOException {
         PdfWriter writer = document.getWriter();
+        writer.flushPendingStreams();
         if (document.isAppendMode()) {
             // Increment generation number for all freed references.
             for (Integer objNr : freeReferences) {
-                xref[(int) objNr].genNr++;
+                get((int) objNr).genNr++;
             }
         } else {
             for (Integer objNr : freeReferences) {
@@ -184,6 +328,11 @@ class PdfXrefTable implements Serializable {
 
         for (int i = count; i > 0; --i) {
             PdfIndirectReference lastRef = xref[i];
+            if (lastRef == null && (isWrittenEntry(i)
+                    || document.properties.appendMode && readEntries != null && readEntries.get(i))) {
+                // written entries and not modified read entries are kept in append mode
+                break;
+            }
             if (lastRef == null
                     || (lastRef.isFree() && lastRef.getGenNumber() == 0)
                     || (!lastRef.checkState(PdfObject.FLUSHED)
@@ -203,15 +352,16 @@ class PdfXrefTable implements Serializable {
         }
         for (int i = 1; i < size(); i++) {
             PdfIndirectReference reference = xref[i];
+            boolean hasEntry = reference != null || isWrittenEntry(i);
             if (reference != null) {
                 if ((document.properties.appendMode && !reference.checkState(PdfObject.MODIFIED)) ||
                         (reference.isFree() && reference.getGenNumber() == 0) ||
                         (!reference.checkState(PdfObject.FLUSHED))) {
-                    reference = null;
+                    hasEntry = false;
                 }
             }
 
-            if (reference == null) {
+            if (!hasEntry) {
                 if (len > 0) {
                     sections.add(first);
                     sections.add(len);
@@ -265,25 +415,16 @@ class PdfXrefTable implements Serializable {
                 first = (int) sections.get(k);
                 len = (int) sections.get(k + 1);
                 for (int i = first; i < first + len; i++) {
+                    if (xref[i] == null && isWrittenEntry(i)) {
+                        writeXrefStreamEntry(xrefStream, false, entryObjStreamNumbers[i], entryOffsets[i], entryGenNumbers[i]);
+                        continue;
+                    }
                     PdfIndirectReference reference = xrefTable.get(i);
                     if (reference == null) {
                         continue;
                     }
-                    if (reference.isFree()) {
-                        xrefStream.getOutputStream().write(0);
-                        //NOTE The object number of the next free object should be at this position due to spec.
-                        xrefStream.getOutputStream().write(intToBytes(0));
-                        xrefStream.getOutputStream().write(shortToBytes(reference.getGenNumber()));
-                    } else if (reference.getObjStreamNumber() == 0) {
-                        xrefStream.getOutputStream().write(1);
-                        assert reference.getOffset() < Integer.MAX_VALUE;
-                        xrefStream.getOutputStream().write(intToBytes((int) reference.getOffset()));
-                        xrefStream.getOutputStream().write(shortToBytes(reference.getGenNumber()));
-                    } else {
-                        xrefStream.getOutputStream().write(2);
-                        xrefStream.getOutputStream().write(intToBytes(reference.getObjStreamNumber()));
-                        xrefStream.getOutputStream().write(shortToBytes(reference.getIndex()));
-                    }
+                    writeXrefStreamEntry(xrefStream, reference.isFree(), reference.getObjStreamNumber(),
+                            reference.offsetOrIndex, reference.getGenNumber());
                 }
             }
             xrefStream.flush();
@@ -295,17 +436,13 @@ class PdfXrefTable implements Serializable {
                 len = (int) sections.get(k + 1);
                 writer.writeInteger(first).writeSpace().writeInteger(len).writeByte((byte) '\n');
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
-
-                    StringBuilder off = new StringBuilder("0000000000").append(reference.getOffset());
-                    StringBuilder gen = new StringBuilder("00000").append(reference.getGenNumber());
-                    writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
-                            writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
-                    if (reference.isFree()) {
-                        writer.writeBytes(freeXRefEntry);
-                    } else {
-                        writer.writeBytes(inUseXRefEntry);
+                    if (xref[i] == null && isWrittenEntry(i)) {
+                        // objects are not put into object streams, if the cross-reference table is written
+                        writeXrefTableEntry(writer, false, entryOffsets[i], entryGenNumbers[i]);
+                        continue;
                     }
+                    PdfIndirectReference reference = xrefTable.get(i);
+                    writeXrefTableEntry(writer, reference.isFree(), reference.getOffset(), reference.getGenNumber());
                 }
             }
             PdfDictionary trailer = document.getTrailer();
@@ -331,6 +468,11 @@ class PdfXrefTable implements Serializable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
+        readEntries = null;
+        writtenEntries = null;
+        entryOffsets = null;
+        entryGenNumbers = null;
+        entryObjStreamNumbers = null;
     }
 
     void clear() {
@@ -340,6 +482,12 @@ class PdfXrefTable implements Serializable {
             }
             xref[i] = null;
         }
+        if (readEntries != null) {
+            readEntries.clear();
+        }
+        if (writtenEntries != null) {
+            writtenEntries.clear();
+        }
         count = 1;
     }
 
@@ -353,6 +501,51 @@ class PdfXrefTable implements Serializable {
         writer.writeString(MessageFormat.format("%{0}-{1}{2}\n", k, version.getRelease(), platform));
     }
 
+    private void initEntryColumns(PdfDocument document) {
+        if (entryOffsets == null) {
+            entryOffsets = new long[xref.length];
+            entryGenNumbers = new int[xref.length];
+            entryObjStreamNumbers = new int[xref.length];
+            entriesDocument = document;
+        }
+    }
+
+    private boolean isWrittenEntry(int index) {
+        return writtenEntries != null && writtenEntries.get(index);
+    }
+
+    private static void writeXrefStreamEntry(PdfStream xrefStream, boolean free, int objStreamNumber,
+                                             long offsetOrIndex, int genNr) throws IOException {
+        PdfOutputStream outputStream = xrefStream.getOutputStream();
+        if (free) {
+            outputStream.write(0);
+            //NOTE The object number of the next free object should be at this position due to spec.
+            outputStream.write(intToBytes(0));
+            outputStream.write(shortToBytes(genNr));
+        } else if (objStreamNumber == 0) {
+            outputStream.write(1);
+            assert offsetOrIndex < Integer.MAX_VALUE;
+            outputStream.write(intToBytes((int) offsetOrIndex));
+            outputStream.write(shortToBytes(genNr));
+        } else {
+            outputStream.write(2);
+            outputStream.write(intToBytes(objStreamNumber));
+            outputStream.write(shortToBytes((int) offsetOrIndex));
+        }
+    }
+
+    private static void writeXrefTableEntry(PdfWriter writer, boolean free, long offset, int genNr) {
+        StringBuilder off = new StringBuilder("0000000000").append(offset);
+        StringBuilder gen = new StringBuilder("00000").append(genNr);
+        writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
+                writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
+        if (free) {
+            writer.writeBytes(freeXRefEntry);
+        } else {
+            writer.writeBytes(inUseXRefEntry);
+        }
+    }
+
     private void ensureCount(int count) {
         if (count >= xref.length) {
             extendXref(count << 1);
@@ -363,6 +556,11 @@ class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (entryOffsets != null) {
+            entryOffsets = Arrays.copyOf(entryOffsets, capacity);
+            entryGenNumbers = Arrays.copyOf(entryGenNumbers, capacity);
+            entryObjStreamNumbers = Arrays.copyOf(entryObjStreamNumbers, capacity);
+        }
     }
 
     private static byte[] shortToBytes(int n) {
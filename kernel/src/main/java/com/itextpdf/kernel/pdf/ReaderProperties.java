@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.source.ByteBufferPool;
 import com.itextpdf.kernel.security.IExternalDecryptionProcess;
 import java.io.Serializable;
 import java.security.Key;
@@ -59,6 +60,8 @@ public class ReaderProperties implements Serializable {
     protected String certificateKeyProvider; //added by Aiken Sam for certificate decryption
     protected IExternalDecryptionProcess externalDecryptionProcess;
 
+    protected transient ByteBufferPool byteBufferPool;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -94,6 +97,17 @@ public class ReaderProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines the pool of the buffers which will be reused for tokenizing of the object and content streams
+     * and for reading and decoding of the stream bytes, instead of allocating new buffers for every stream.
+     * The same pool may be shared by several documents.
+     * @param byteBufferPool the pool to use, or {@code null} to allocate the buffers for every stream.
+     */
+    public ReaderProperties setByteBufferPool(ByteBufferPool byteBufferPool) {
+        this.byteBufferPool = byteBufferPool;
+        return this;
+    }
+
     private void clearEncryptionParams() {
         this.password = null;
         this.certificate = null;
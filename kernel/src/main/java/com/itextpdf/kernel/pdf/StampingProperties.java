@@ -50,10 +50,12 @@ public class StampingProperties implements Serializable {
     private static final long serialVersionUID = 6108082513101777457L;
 
     protected boolean appendMode;
+    protected boolean streamingAppendMode;
     protected boolean preserveEncryption;
 
     public StampingProperties() {
         appendMode = false;
+        streamingAppendMode = false;
         preserveEncryption = false;
     }
 
@@ -66,6 +68,20 @@ public class StampingProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines if the document will be edited in append mode, writing modified objects as soon as possible.
+     * Modified objects are written to the output not only when they are flushed, but also when they are released
+     * (see {@link PdfObject#release()}), instead of being kept till the document is closed.
+     * Only the cross-reference entries of the written objects are kept, their indirect references are released,
+     * so that the memory consumption doesn't grow with the number of the written objects.
+     * @return this {@link StampingProperties} instance
+     */
+    public StampingProperties useStreamingAppendMode() {
+        appendMode = true;
+        streamingAppendMode = true;
+        return this;
+    }
+
     /**
      * Defines if the encryption of the original document (if it was encrypted) will be preserved.
      * By default, the resultant document doesn't preserve the original encryption.
@@ -45,6 +45,8 @@ package com.itextpdf.kernel.pdf;
 
 import java.io.Serializable;
 import java.security.cert.Certificate;
+import java.util.HashMap;
+import java.util.Map;
 
 public class WriterProperties implements Serializable {
 
@@ -66,6 +68,19 @@ public class WriterProperties implements Serializable {
     protected boolean addXmpMetadata;
     protected PdfVersion pdfVersion;
     protected EncryptionProperties encryptionProperties;
+    /**
+     * Number of threads used to compress streams in parallel. Zero means that streams are compressed
+     * on the thread which writes the document.
+     */
+    protected int compressionThreadCount;
+    /**
+     * Compression levels for the particular kinds of streams, see {@link #setCompressionLevel(PdfName, int)}.
+     */
+    protected Map<PdfName, Integer> streamCompressionLevels;
+    /**
+     * Compression strategies for the particular kinds of streams, see {@link #setCompressionStrategy(PdfName, int)}.
+     */
+    protected Map<PdfName, Integer> streamCompressionStrategies;
 
     public WriterProperties() {
         smartMode = false;
@@ -73,6 +88,8 @@ public class WriterProperties implements Serializable {
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
         isFullCompression = null;
         encryptionProperties = new EncryptionProperties();
+        streamCompressionLevels = new HashMap<>();
+        streamCompressionStrategies = new HashMap<>();
     }
 
     /**
@@ -121,6 +138,47 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines the level of compression for the particular kind of streams, which overrides
+     * the level of compression for the document. The level explicitly set to the stream
+     * with {@link PdfStream#setCompressionLevel(int)} still takes precedence.
+     * <p/>
+     * The kind of the stream is the value of its /Subtype entry, or the value of its /Type entry if there is
+     * no subtype, e.g. {@link PdfName#Image}, {@link PdfName#Form} or {@link PdfName#ObjStm}. Embedded font
+     * programs are identified by {@link PdfName#FontFile}, and the streams which have neither type nor subtype,
+     * first of all the page content streams, are identified by {@link PdfName#Contents}.
+     * <p/>
+     * E.g. the content streams may be compressed with {@link CompressionConstants#BEST_SPEED} and
+     * the font programs with {@link CompressionConstants#BEST_COMPRESSION}. The streams which are already
+     * encoded, like DCT or JPX images, are not compressed again in any case.
+     *
+     * @param streamType       the kind of the streams.
+     * @param compressionLevel the compression level, see {@link CompressionConstants}.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties setCompressionLevel(PdfName streamType, int compressionLevel) {
+        this.streamCompressionLevels.put(streamType, compressionLevel);
+        return this;
+    }
+
+    /**
+     * Defines the strategy of compression for the particular kind of streams, see
+     * {@link #setCompressionLevel(PdfName, int)} for the kinds of streams. If no strategy is defined,
+     * {@link CompressionConstants#DEFAULT_STRATEGY} is used.
+     *
+     * @param streamType          the kind of the streams.
+     * @param compressionStrategy the compression strategy, see {@link CompressionConstants}.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties setCompressionStrategy(PdfName streamType, int compressionStrategy) {
+        if (compressionStrategy != CompressionConstants.DEFAULT_STRATEGY && compressionStrategy != CompressionConstants.FILTERED
+                && compressionStrategy != CompressionConstants.HUFFMAN_ONLY) {
+            throw new IllegalArgumentException("Unknown compression strategy: " + compressionStrategy);
+        }
+        this.streamCompressionStrategies.put(streamType, compressionStrategy);
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -177,6 +235,25 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables parallel compression of streams.
+     * <p/>
+     * Content streams, images, font programs and other streams which content is kept in memory
+     * are compressed by a pool of worker threads. Compressed streams are written in the order they were flushed,
+     * so that the document structure is the same as in case of sequential compression.
+     * Encrypted documents are always compressed sequentially.
+     *
+     * @param threadCount number of worker threads. Zero disables parallel compression.
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelCompression(int threadCount) {
+        if (threadCount < 0) {
+            throw new IllegalArgumentException("The thread count must not be negative");
+        }
+        this.compressionThreadCount = threadCount;
+        return this;
+    }
+
     /**
      * This activates debug mode with pdfDebug tool.
      * It causes additional overhead of duplicating document bytes into memory, so use it careful.
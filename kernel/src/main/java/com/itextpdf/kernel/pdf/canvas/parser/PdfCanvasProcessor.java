@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.source.ByteBufferPool;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -79,6 +80,7 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
@@ -165,6 +167,11 @@ public class PdfCanvasProcessor {
      */
     private Stack<CanvasTag> markedContentStack = new Stack<>();
 
+    /**
+     * The pool of the token buffers of the document which page is processed, if the document reader has one.
+     */
+    private ByteBufferPool tokenBufferPool;
+
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
      * designated render listener.
@@ -197,6 +204,21 @@ public class PdfCanvasProcessor {
         }
     }
 
+    /**
+     * Creates a new PDF Content Stream Processor that will send its output to the
+     * designated render listener and use the given font cache. The cache could be shared between
+     * the processors of the pages of the same document, in this case it shall be thread-safe
+     * if the pages are processed concurrently.
+     *
+     * @param eventListener the {@link IEventListener} that will receive rendering notifications
+     * @param additionalContentOperators an optional map of custom {@link IContentOperator}s for rendering instructions
+     * @param fontCache the map of the fonts by their object numbers
+     */
+    PdfCanvasProcessor(IEventListener eventListener, Map<String, IContentOperator> additionalContentOperators, Map<Integer, PdfFont> fontCache) {
+        this(eventListener, additionalContentOperators);
+        this.cachedFonts = fontCache;
+    }
+
     /**
      * Registers a Do handler that will be called when Do for the provided XObject subtype is encountered during content processing.
      * <br>
@@ -268,7 +290,7 @@ public class PdfCanvasProcessor {
             throw new PdfException(PdfException.ResourcesCannotBeNull);
         }
         this.resourcesStack.push(resources);
-        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)), tokenBufferPool);
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
         List<PdfObject> operands = new ArrayList<>();
         try {
@@ -278,6 +300,12 @@ public class PdfCanvasProcessor {
             }
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotParseContentStream, e);
+        } finally {
+            // returns the pooled token buffer also if the content stream is broken
+            try {
+                tokeniser.close();
+            } catch (IOException ignored) {
+            }
         }
 
         this.resourcesStack.pop();
@@ -292,6 +320,8 @@ public class PdfCanvasProcessor {
      * @param page the page to process
      */
     public void processPageContent(PdfPage page) {
+        PdfReader reader = page.getDocument().getReader();
+        tokenBufferPool = reader != null ? reader.getByteBufferPool() : null;
         initClippingPath(page);
         ParserGraphicsState gs = getGraphicsState();
         eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
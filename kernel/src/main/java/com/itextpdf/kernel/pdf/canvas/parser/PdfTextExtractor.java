@@ -43,12 +43,23 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
 import com.itextpdf.kernel.pdf.PdfPage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 public final class PdfTextExtractor {
 
@@ -93,4 +104,54 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extract text from all pages of the document. Pages are processed independently by the tasks
+     * submitted to the given executor, so the document pages are read concurrently if the executor runs the tasks
+     * in several threads. The fonts are shared between the pages.
+     * Note: the document shall not be modified while the text is extracted.
+     *
+     * @param document        the document for the text to be extracted from
+     * @param strategyFactory the factory creating the strategy for each page
+     * @param executor        the executor to run the extraction of the pages
+     * @return the list of the extracted texts in the page order
+     */
+    public static List<String> extractAll(final PdfDocument document, final ITextExtractionStrategyFactory strategyFactory, Executor executor) {
+        final Map<Integer, PdfFont> fontCache = new ConcurrentHashMap<>();
+        int numberOfPages = document.getNumberOfPages();
+        List<FutureTask<String>> tasks = new ArrayList<>(numberOfPages);
+        for (int i = 1; i <= numberOfPages; i++) {
+            final int pageNum = i;
+            FutureTask<String> task = new FutureTask<>(new Callable<String>() {
+                @Override
+                public String call() {
+                    ITextExtractionStrategy strategy = strategyFactory.createStrategy();
+                    PdfCanvasProcessor parser = new PdfCanvasProcessor(strategy, new HashMap<String, IContentOperator>(), fontCache);
+                    parser.processPageContent(document.getPage(pageNum));
+                    return strategy.getResultantText();
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        List<String> texts = new ArrayList<>(numberOfPages);
+        try {
+            for (FutureTask<String> task : tasks) {
+                texts.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotParseContentStream, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(PdfException.CannotParseContentStream, e.getCause());
+        } finally {
+            for (FutureTask<String> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        return texts;
+    }
 }
@@ -50,11 +50,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCII85Decode filter
  */
-public class ASCII85DecodeFilter implements IFilterHandler {
+public class ASCII85DecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -62,6 +64,11 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCII85InputStream(in);
+    }
+
     /**
      * Decodes the input bytes according to ASCII85.
      *
@@ -117,4 +124,65 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         }
         return out.toByteArray();
     }
+
+    private static class ASCII85InputStream extends DecodingInputStream {
+        private final int[] chn = new int[5];
+        private final byte[] decoded = new byte[4];
+        private int decodedPos;
+        private int decodedLength;
+        private boolean finished;
+
+        ASCII85InputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (decodedPos == decodedLength && !decodeGroup())
+                return -1;
+            return decoded[decodedPos++] & 0xff;
+        }
+
+        private boolean decodeGroup() throws IOException {
+            if (finished)
+                return false;
+            decodedPos = 0;
+            int state = 0;
+            while (true) {
+                int ch = in.read();
+                if (ch == -1 || ch == '~') {
+                    finished = true;
+                    break;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                if (ch == 'z' && state == 0) {
+                    decoded[0] = decoded[1] = decoded[2] = decoded[3] = 0;
+                    decodedLength = 4;
+                    return true;
+                }
+                if (ch < '!' || ch > 'u')
+                    throw new PdfException(PdfException.IllegalCharacterInAscii85decode);
+                chn[state] = ch - '!';
+                ++state;
+                if (state == 5) {
+                    break;
+                }
+            }
+            if (state < 2) {
+                decodedLength = 0;
+                return false;
+            }
+            // the missing characters of the last group are padded the same way as in ASCII85Decode(byte[])
+            int r = 0;
+            for (int j = 0; j < 5; ++j)
+                r = r * 85 + (j < state ? chn[j] : 85);
+            decoded[0] = (byte)(r >> 24);
+            decoded[1] = (byte)(r >> 16);
+            decoded[2] = (byte)(r >> 8);
+            decoded[3] = (byte)r;
+            decodedLength = state - 1;
+            return true;
+        }
+    }
 }
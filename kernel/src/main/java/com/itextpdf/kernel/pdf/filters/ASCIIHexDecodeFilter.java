@@ -51,11 +51,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCIIHexDecode filter
  */
-public class ASCIIHexDecodeFilter implements IFilterHandler {
+public class ASCIIHexDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -63,6 +65,11 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCIIHexInputStream(in);
+    }
+
     /**
      * Decodes a byte[] according to ASCII Hex encoding.
      *
@@ -92,4 +99,35 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
             out.write((byte)(n1 << 4));
         return out.toByteArray();
     }
+
+    private static class ASCIIHexInputStream extends DecodingInputStream {
+        private boolean finished;
+
+        ASCIIHexInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (finished)
+                return -1;
+            int n1 = -1;
+            while (true) {
+                int ch = in.read();
+                if (ch == -1 || ch == '>') {
+                    finished = true;
+                    return n1 == -1 ? -1 : (n1 << 4) & 0xff;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                int n = ByteBuffer.getHex(ch);
+                if (n == -1)
+                    throw new PdfException(PdfException.IllegalCharacterInAsciihexdecode);
+                if (n1 == -1)
+                    n1 = n;
+                else
+                    return ((n1 << 4) + n) & 0xff;
+            }
+        }
+    }
 }
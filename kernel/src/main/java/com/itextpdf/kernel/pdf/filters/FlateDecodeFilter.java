@@ -43,6 +43,8 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.FlateCoderPool;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -52,13 +54,19 @@ import com.itextpdf.kernel.pdf.PdfObject;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter implements IFilterHandler {
+public class FlateDecodeFilter implements IBufferedFilterHandler, IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -69,6 +77,25 @@ public class FlateDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public void decode(byte[] b, int off, int len, ByteBuffer output, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        int start = output.size();
+        if (!flateDecode(b, off, len, output)) {
+            // corrupted stream, let the stream based decoding read as much as possible
+            output.setSize(start);
+            output.append(decode(Arrays.copyOfRange(b, off, off + len), filterName, decodeParams, streamDictionary));
+        } else if (hasPredictor(decodeParams)) {
+            byte[] res = decodePredictor(output.toByteArray(start, output.size() - start), decodeParams);
+            output.setSize(start);
+            output.append(res);
+        }
+    }
+
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return decodePredictor(new LenientInflaterInputStream(in), decodeParams);
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -78,7 +105,8 @@ public class FlateDecodeFilter implements IFilterHandler {
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
         ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
+        Inflater inflater = FlateCoderPool.getInstance().acquireInflater();
+        InflaterInputStream zip = new InflaterInputStream(stream, inflater);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         byte[] b = new byte[strict ? 4092 : 1];
         try {
@@ -94,36 +122,79 @@ public class FlateDecodeFilter implements IFilterHandler {
             if (strict)
                 return null;
             return out.toByteArray();
+        } finally {
+            FlateCoderPool.getInstance().release(inflater);
         }
     }
 
+    /**
+     * Inflates the bytes directly into the output buffer.
+     *
+     * @return {@code true} if the data were decoded, {@code false} if the stream is corrupted.
+     */
+    private static boolean flateDecode(byte[] in, int off, int len, ByteBuffer output) {
+        Inflater inflater = FlateCoderPool.getInstance().acquireInflater();
+        try {
+            inflater.setInput(in, off, len);
+            while (!inflater.finished()) {
+                output.ensureCapacity(output.size() + 1);
+                int n = inflater.inflate(output.getInternalBuffer(), output.size(), output.capacity() - output.size());
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return false;
+                }
+                output.setSize(output.size() + n);
+            }
+            return true;
+        } catch (DataFormatException e) {
+            return false;
+        } finally {
+            FlateCoderPool.getInstance().release(inflater);
+        }
+    }
+
+    private static boolean hasPredictor(PdfObject decodeParams) {
+        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY)
+            return false;
+        PdfObject obj = ((PdfDictionary) decodeParams).get(PdfName.Predictor);
+        if (obj == null || obj.getType() != PdfObject.NUMBER)
+            return false;
+        int predictor = ((PdfNumber) obj).intValue();
+        return predictor >= 10 || predictor == 2;
+    }
+
+    /**
+     * Wraps the stream with the stream that reverts the predictor, if any, row by row.
+     *
+     * @param in Input stream.
+     * @param decodeParams PdfDictionary of decodeParams.
+     * @return the stream of decoded bytes
+     */
+    public static InputStream decodePredictor(InputStream in, PdfObject decodeParams) {
+        if (!hasPredictor(decodeParams))
+            return in;
+        PdfDictionary dic = (PdfDictionary)decodeParams;
+        int predictor = dic.getAsNumber(PdfName.Predictor).intValue();
+        int width = getIntParam(dic, PdfName.Columns, 1);
+        int colors = getIntParam(dic, PdfName.Colors, 1);
+        int bpc = getIntParam(dic, PdfName.BitsPerComponent, 8);
+        if (predictor == 2 && bpc != 8)
+            return in;
+        return new PredictorInputStream(in, predictor, colors * bpc / 8, (colors * width * bpc + 7) / 8);
+    }
+
     /**
      * @param in Input byte array.
      * @param decodeParams PdfDictionary of decodeParams.
      * @return a byte array
      */
     public static byte[] decodePredictor(byte[] in, PdfObject decodeParams) {
-        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY)
+        if (!hasPredictor(decodeParams))
             return in;
         PdfDictionary dic = (PdfDictionary)decodeParams;
-        PdfObject obj = dic.get(PdfName.Predictor);
-        if (obj == null || obj.getType() != PdfObject.NUMBER)
-            return in;
-        int predictor = ((PdfNumber)obj).intValue();
-        if (predictor < 10 && predictor != 2)
-            return in;
-        int width = 1;
-        obj = dic.get(PdfName.Columns);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            width = ((PdfNumber)obj).intValue();
-        int colors = 1;
-        obj = dic.get(PdfName.Colors);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            colors = ((PdfNumber)obj).intValue();
-        int bpc = 8;
-        obj = dic.get(PdfName.BitsPerComponent);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            bpc = ((PdfNumber)obj).intValue();
+        int predictor = dic.getAsNumber(PdfName.Predictor).intValue();
+        int width = getIntParam(dic, PdfName.Columns, 1);
+        int colors = getIntParam(dic, PdfName.Colors, 1);
+        int bpc = getIntParam(dic, PdfName.BitsPerComponent, 8);
         DataInputStream dataStream = new DataInputStream(new ByteArrayInputStream(in));
         ByteArrayOutputStream fout = new ByteArrayOutputStream(in.length);
         int bytesPerPixel = colors * bpc / 8;
@@ -156,58 +227,7 @@ public class FlateDecodeFilter implements IFilterHandler {
                 return fout.toByteArray();
             }
 
-            switch (filter) {
-                case 0: //PNG_FILTER_NONE
-                    break;
-                case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
-                    break;
-                case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
-                    }
-                    break;
-                case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
-                    }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff))/2);
-                    }
-                    break;
-                case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
-                    }
-
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte)ret;
-                    }
-                    break;
-                default:
-                    // Error -- unknown filter type
-                    throw new PdfException(PdfException.PngFilterUnknown);
-            }
+            decodePngRow(filter, curr, prior, bytesPerPixel, bytesPerRow);
             try {
                 fout.write(curr);
             }
@@ -222,4 +242,99 @@ public class FlateDecodeFilter implements IFilterHandler {
             curr = tmp;
         }
     }
+
+    /**
+     * Reverts the PNG filter of the row in place.
+     */
+    static void decodePngRow(int filter, byte[] curr, byte[] prior, int bytesPerPixel, int bytesPerRow) {
+        switch (filter) {
+            case 0: //PNG_FILTER_NONE
+                break;
+            case 1: //PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: //PNG_FILTER_UP
+                for (int i = 0; i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: //PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += (byte) (prior[i] / 2);
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff))/2);
+                }
+                break;
+            case 4: //PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += prior[i];
+                }
+
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+
+                    int ret;
+
+                    if (pa <= pb && pa <= pc) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
+                    }
+                    curr[i] += (byte)ret;
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new PdfException(PdfException.PngFilterUnknown);
+        }
+    }
+
+    private static int getIntParam(PdfDictionary decodeParams, PdfName name, int defaultValue) {
+        PdfObject obj = decodeParams.get(name);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            return ((PdfNumber)obj).intValue();
+        return defaultValue;
+    }
+
+    /**
+     * Inflates as much as possible, as {@link #flateDecode(byte[], boolean)} does for the corrupted streams,
+     * treating the unexpected end of the data as the end of the stream.
+     */
+    private static class LenientInflaterInputStream extends InflaterInputStream {
+        private boolean finished;
+
+        LenientInflaterInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (finished)
+                return -1;
+            try {
+                int n = super.read(b, off, len);
+                if (n == -1)
+                    finished = true;
+                return n;
+            } catch (EOFException e) {
+                finished = true;
+                return -1;
+            } catch (ZipException e) {
+                finished = true;
+                return -1;
+            }
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reverts PNG or TIFF predictor row by row, the same way as {@link FlateDecodeFilter#decodePredictor(byte[], com.itextpdf.kernel.pdf.PdfObject)}
+ * does for the whole decoded data.
+ */
+class PredictorInputStream extends DecodingInputStream {
+
+    private final int predictor;
+    private final int bytesPerPixel;
+    private final int bytesPerRow;
+    private byte[] curr;
+    private byte[] prior;
+    private int rowPos;
+    private int rowLength;
+    private boolean finished;
+
+    PredictorInputStream(InputStream in, int predictor, int bytesPerPixel, int bytesPerRow) {
+        super(in);
+        this.predictor = predictor;
+        this.bytesPerPixel = bytesPerPixel;
+        this.bytesPerRow = bytesPerRow;
+        this.curr = new byte[bytesPerRow];
+        this.prior = new byte[bytesPerRow];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (rowPos == rowLength && !nextRow())
+            return -1;
+        return prior[rowPos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (rowPos == rowLength && !nextRow())
+            return -1;
+        int n = Math.min(len, rowLength - rowPos);
+        System.arraycopy(prior, rowPos, b, off, n);
+        rowPos += n;
+        return n;
+    }
+
+    /**
+     * Decodes the next row into {@code prior}, which then holds the row to be read.
+     */
+    private boolean nextRow() throws IOException {
+        if (finished)
+            return false;
+        int filter = 0;
+        if (predictor != 2) {
+            filter = in.read();
+            if (filter < 0) {
+                finished = true;
+                return false;
+            }
+        }
+        int n = readRow();
+        if (predictor == 2) {
+            // TIFF predictor, the trailing incomplete row is left as is
+            if (n == bytesPerRow) {
+                for (int col = bytesPerPixel; col < bytesPerRow; col++) {
+                    curr[col] = (byte)(curr[col] + curr[col - bytesPerPixel]);
+                }
+            }
+        } else {
+            // PNG predictor, the incomplete row is dropped
+            if (n < bytesPerRow) {
+                finished = true;
+                return false;
+            }
+            FlateDecodeFilter.decodePngRow(filter, curr, prior, bytesPerPixel, bytesPerRow);
+        }
+        if (n < bytesPerRow)
+            finished = true;
+        if (n == 0)
+            return false;
+        byte[] tmp = prior;
+        prior = curr;
+        curr = tmp;
+        rowPos = 0;
+        rowLength = n;
+        return true;
+    }
+
+    private int readRow() throws IOException {
+        int n = 0;
+        while (n < bytesPerRow) {
+            int count = in.read(curr, n, bytesPerRow - n);
+            if (count < 0)
+                break;
+            n += count;
+        }
+        return n;
+    }
+}
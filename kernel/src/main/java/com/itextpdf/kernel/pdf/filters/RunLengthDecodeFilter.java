@@ -48,11 +48,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles RunLengthDecode filter.
  */
-public class RunLengthDecodeFilter implements IFilterHandler {
+public class RunLengthDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -65,7 +67,7 @@ public class RunLengthDecodeFilter implements IFilterHandler {
             }
             if (dupCount >= 0) {
                 int bytesToCopy = dupCount + 1;
-                baos.write(b, i, bytesToCopy);
+                baos.write(b, i + 1, bytesToCopy);
                 i += bytesToCopy;
             } else {                // make dupcount copies of the next byte
                 i++;
@@ -76,4 +78,55 @@ public class RunLengthDecodeFilter implements IFilterHandler {
         }
         return baos.toByteArray();
     }
+
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new RunLengthInputStream(in);
+    }
+
+    private static class RunLengthInputStream extends DecodingInputStream {
+        private int literalCount;
+        private int repeatCount;
+        private int repeatedByte;
+        private boolean finished;
+
+        RunLengthInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (true) {
+                if (literalCount > 0) {
+                    literalCount--;
+                    int b = in.read();
+                    if (b == -1) {
+                        finished = true;
+                        literalCount = 0;
+                    }
+                    return b;
+                }
+                if (repeatCount > 0) {
+                    repeatCount--;
+                    return repeatedByte;
+                }
+                if (finished) {
+                    return -1;
+                }
+                int dupCount = in.read();
+                if (dupCount == -1 || dupCount == 0x80) { // this is implicit end of data
+                    finished = true;
+                } else if (dupCount < 0x80) {
+                    literalCount = dupCount + 1;
+                } else {                // make dupcount copies of the next byte
+                    repeatedByte = in.read();
+                    if (repeatedByte == -1) {
+                        finished = true;
+                    } else {
+                        repeatCount = 257 - dupCount;
+                    }
+                }
+            }
+        }
+    }
 }
@@ -43,10 +43,20 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class PdfMerger {
@@ -121,20 +131,63 @@ public class PdfMerger {
      * @return this {@code PdfMerger} instance.
      */
     public PdfMerger merge(PdfDocument from, List<Integer> pages) {
-        if (mergeTags && from.isTagged()) {
-            pdfDocument.setTagged();
-        }
-        if (mergeOutlines && from.hasOutlines()) {
-            pdfDocument.initializeOutlines();
-        }
-
-        from.copyPagesTo(pages, pdfDocument);
+        copyPages(from, pages);
         if (closeSrcDocuments) {
             from.close();
         }
         return this;
     }
 
+    /**
+     * This method merges all pages of the source documents to the current one, one source document after another.
+     * <br/><br/>
+     * While the pages of a source document are being copied, up to <i>prefetchCount</i> next source documents
+     * are opened and completely read on the given executor, so that reading the sources and writing the current
+     * document overlap. The copied pages are flushed right after each source document is merged (only their content
+     * streams if the current document is tagged) and the source documents are always closed, so only the source
+     * documents which are currently prefetched are kept in memory. Note that the flushed pages can not be modified
+     * anymore.
+     * @param sources - the source documents, each one is opened by calling its {@code Callable}. The documents are
+     *                merged in the order of iteration.
+     * @param prefetchCount - the number of source documents which are opened and read in advance.
+     * @param executor - the executor on which the source documents are opened and read.
+     * @return this {@code PdfMerger} instance.
+     */
+    public PdfMerger merge(Iterable<? extends Callable<PdfDocument>> sources, int prefetchCount, Executor executor) {
+        if (prefetchCount < 1) {
+            throw new IllegalArgumentException("The prefetch count must be a positive integer");
+        }
+        Iterator<? extends Callable<PdfDocument>> iterator = sources.iterator();
+        Deque<PrefetchTask> prefetched = new ArrayDeque<>(prefetchCount);
+        try {
+            while (prefetched.size() < prefetchCount && iterator.hasNext()) {
+                prefetched.add(prefetch(iterator.next(), executor));
+            }
+            while (!prefetched.isEmpty()) {
+                PdfDocument from = getPrefetched(prefetched.poll());
+                if (iterator.hasNext()) {
+                    prefetched.add(prefetch(iterator.next(), executor));
+                }
+                try {
+                    List<Integer> pages = new ArrayList<>(from.getNumberOfPages());
+                    for (int pageNum = 1; pageNum <= from.getNumberOfPages(); pageNum++) {
+                        pages.add(pageNum);
+                    }
+                    for (PdfPage page : copyPages(from, pages)) {
+                        flushCopiedPage(page);
+                    }
+                } finally {
+                    from.close();
+                }
+            }
+        } finally {
+            for (PrefetchTask task : prefetched) {
+                task.discard();
+            }
+        }
+        return this;
+    }
+
     /**
      * Closes the current document. It is a complete equivalent of calling {@code PdfDocument#close} on the PdfDocument
      * passed to the constructor of this PdfMerger instance. This means that it is enough to call <i>close</i> either on
@@ -143,4 +196,92 @@ public class PdfMerger {
     public void close() {
         pdfDocument.close();
     }
+
+    private List<PdfPage> copyPages(PdfDocument from, List<Integer> pages) {
+        if (mergeTags && from.isTagged()) {
+            pdfDocument.setTagged();
+        }
+        if (mergeOutlines && from.hasOutlines()) {
+            pdfDocument.initializeOutlines();
+        }
+
+        return from.copyPagesTo(pages, pdfDocument);
+    }
+
+    private void flushCopiedPage(PdfPage page) {
+        if (pdfDocument.isTagged()) {
+            // the tags of the copied page may still be moved while the next documents are merged,
+            // so only the content streams are flushed
+            for (int i = 0; i < page.getContentStreamCount(); i++) {
+                page.getContentStream(i).flush();
+            }
+        } else {
+            page.flush(true);
+        }
+    }
+
+    private static PrefetchTask prefetch(Callable<PdfDocument> source, Executor executor) {
+        PrefetchTask task = new PrefetchTask(source, new AtomicBoolean());
+        executor.execute(task);
+        return task;
+    }
+
+    private static PdfDocument getPrefetched(FutureTask<PdfDocument> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotOpenDocument, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(PdfException.CannotOpenDocument, e.getCause());
+        }
+    }
+
+    /**
+     * Opens and reads the source document on the executor. The task can be discarded without leaking the document:
+     * either it is prevented from opening the document, or the document is closed once it is opened.
+     */
+    private static class PrefetchTask extends FutureTask<PdfDocument> {
+        private final AtomicBoolean started;
+
+        PrefetchTask(final Callable<PdfDocument> source, final AtomicBoolean started) {
+            super(new Callable<PdfDocument>() {
+                @Override
+                public PdfDocument call() throws Exception {
+                    if (!started.compareAndSet(false, true)) {
+                        // the task was discarded before it started
+                        return null;
+                    }
+                    PdfDocument document = source.call();
+                    // read all the objects now, so that they are not read while the pages are being copied
+                    for (int objNum = 1; objNum < document.getNumberOfPdfObjects(); objNum++) {
+                        document.getPdfObject(objNum);
+                    }
+                    return document;
+                }
+            });
+            this.started = started;
+        }
+
+        void discard() {
+            if (started.compareAndSet(false, true)) {
+                cancel(false);
+                return;
+            }
+            // the document is being opened, wait for it to close it
+            try {
+                PdfDocument document = get();
+                if (document != null) {
+                    document.close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ignored) {
+                // the document was not opened or can not be closed, there is nothing else to release
+            }
+        }
+    }
 }
@@ -151,12 +151,21 @@ public class PdfResourceCounter {
                 continue;
             }
 
-            PdfOutputStream os = new PdfOutputStream(new IdelOutputStream());
-
-            os.write(resources.get(ref).clone());
-            length += os.getCurrentPos();
+            length += getObjectLength(resources.get(ref));
         }
 
         return length;
     }
+
+    /**
+     * Returns the number of bytes needed for the single object.
+     *
+     * @param obj the object to be measured
+     * @return the number of bytes needed for the object
+     */
+    static long getObjectLength(PdfObject obj) {
+        PdfOutputStream os = new PdfOutputStream(new IdelOutputStream());
+        os.write(obj.clone());
+        return os.getCurrentPos();
+    }
 }
@@ -54,8 +54,11 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class PdfSplitter {
 
@@ -103,18 +106,67 @@ public class PdfSplitter {
      *         Be warned that these documents are not closed.
      */
     public List<PdfDocument> splitBySize(long size) {
-        List<PageRange> splitRanges = new ArrayList<>();
-        int currentPage = 1;
+        final List<PdfDocument> splitDocuments = new ArrayList<>();
+
+        splitBySize(size, new IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                splitDocuments.add(pdfDocument);
+            }
+        });
+
+        return splitDocuments;
+    }
+
+    /**
+     * Splits the document basing on the given size.
+     * Each resultant document is passed to the listener as soon as it is ready and before the next one is created,
+     * so if the listener closes it, only one resultant document is kept in memory at a time.
+     * The size of each page and of each resource is calculated only once, however many documents it gets into.
+     *
+     * @param size          <strog>Preferred</strog> size for splitting.
+     * @param documentReady the event listener which is called when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     */
+    public void splitBySize(long size, IDocumentReadyListener documentReady) {
+        PdfResourceCounter trailerCounter = new PdfResourceCounter(pdfDocument.getTrailer());
+        Map<Integer, PdfObject> trailerResources = trailerCounter.getResources();
+        long trailerLength = trailerCounter.getLength(null);
+        Map<Integer, Long> objectLengths = new HashMap<>();
         int numOfPages = pdfDocument.getNumberOfPages();
+        PdfResourceCounter pageCounter = null;
+        int currentPage = 1;
 
         while (currentPage <= numOfPages) {
-            PageRange nextRange = getNextRange(currentPage, numOfPages, size);
-            splitRanges.add(nextRange);
-            List<Integer> allPages = nextRange.getAllPages();
-            currentPage = (int) allPages.get(allPages.size() - 1) + 1;
-        }
+            int startPage = currentPage;
+            Set<Integer> rangeResources = new HashSet<>();
+            long lengthWithoutXref = trailerLength;
+            boolean oversized;
+
+            do {
+                if (pageCounter == null) {
+                    pageCounter = new PdfResourceCounter(pdfDocument.getPage(currentPage).getPdfObject());
+                }
+                for (Map.Entry<Integer, PdfObject> resource : pageCounter.getResources().entrySet()) {
+                    Integer objNumber = resource.getKey();
+                    if (!trailerResources.containsKey(objNumber) && rangeResources.add(objNumber)) {
+                        lengthWithoutXref += getCachedLength(objNumber, resource.getValue(), objectLengths);
+                    }
+                }
+                oversized = lengthWithoutXref + xrefLength(trailerResources.size() + rangeResources.size()) > size;
+
+                // the page which caused the oversize goes to the next document, unless it is the first one of this document
+                if (!oversized || currentPage == startPage) {
+                    currentPage++;
+                    pageCounter = null;
+                }
+            } while (currentPage <= numOfPages && !oversized);
 
-        return extractPageRanges(splitRanges);
+            PageRange currentPageRange = new PageRange().addPageSequence(startPage, currentPage - 1);
+            PdfDocument currentDocument = createPdfDocument(currentPageRange);
+            pdfDocument.copyPagesTo(startPage, currentPage - 1, currentDocument);
+            documentReady.documentReady(currentDocument, currentPageRange);
+        }
     }
 
     /**
@@ -207,15 +259,31 @@ public class PdfSplitter {
      * Be warned that these documents are not closed.
      */
     public List<PdfDocument> extractPageRanges(List<PageRange> pageRanges) {
-        List<PdfDocument> splitDocuments = new ArrayList<>();
+        final List<PdfDocument> splitDocuments = new ArrayList<>();
+
+        extractPageRanges(pageRanges, new IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                splitDocuments.add(pdfDocument);
+            }
+        });
+
+        return splitDocuments;
+    }
 
+    /**
+     * Extracts the specified page ranges from a document.
+     *
+     * @param pageRanges    the list of page ranges for each of the resultant document.
+     * @param documentReady the event listener which is called when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     */
+    public void extractPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady) {
         for (PageRange currentPageRange : pageRanges) {
             PdfDocument currentPdfDocument = createPdfDocument(currentPageRange);
-            splitDocuments.add(currentPdfDocument);
             pdfDocument.copyPagesTo(currentPageRange.getAllPages(), currentPdfDocument);
+            documentReady.documentReady(currentPdfDocument, currentPageRange);
         }
-
-        return splitDocuments;
     }
 
     /**
@@ -358,32 +426,13 @@ public class PdfSplitter {
         return nextPdfOutline;
     }
 
-    private PageRange getNextRange(int startPage, int endPage, long size) {
-        PdfResourceCounter counter = new PdfResourceCounter(pdfDocument.getTrailer());
-        Map<Integer, PdfObject> resources = counter.getResources();
-        long lengthWithoutXref = counter.getLength(null); // initialize with trailer length
-        int currentPage = startPage;
-        boolean oversized = false;
-
-        do {
-            PdfPage page = pdfDocument.getPage(currentPage++);
-            counter = new PdfResourceCounter(page.getPdfObject());
-            lengthWithoutXref += counter.getLength(resources);
-            resources.putAll(counter.getResources());
-
-            if (lengthWithoutXref + xrefLength(resources.size()) > size) {
-                oversized = true;
-            }
-        } while (currentPage <= endPage && !oversized);
-
-        // true if at least the first page to be copied didn't cause the oversize
-        if (oversized && (currentPage - 1) != startPage) {
-            // we shouldn't copy previous page because it caused
-            // the oversize and it isn't the first page to be copied
-            --currentPage;
+    private static long getCachedLength(Integer objNumber, PdfObject obj, Map<Integer, Long> objectLengths) {
+        Long length = objectLengths.get(objNumber);
+        if (length == null) {
+            length = PdfResourceCounter.getObjectLength(obj);
+            objectLengths.put(objNumber, length);
         }
-
-        return new PageRange().addPageSequence(startPage, currentPage - 1);
+        return (long) length;
     }
 
     private long xrefLength(int size) {
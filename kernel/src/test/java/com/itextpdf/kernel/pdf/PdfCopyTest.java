@@ -1,7 +1,12 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
@@ -12,6 +17,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
 
@@ -195,4 +201,52 @@ public class PdfCopyTest extends ExtendedITextTest {
         assertNull(new CompareTool().compareByContent(destinationFolder + "copySamePageWithAnnotationsSeveralTimes.pdf", sourceFolder + "cmp_copySamePageWithAnnotationsSeveralTimes.pdf", destinationFolder, "diff_"));
     }
 
+    @Test
+    public void smartModeCopyTest() throws IOException {
+        byte[] source = createSmartModeSourceDocument();
+        int singleCopyObjects = copyDocumentSeveralTimes(source, 1, new PdfWriter(new ByteArrayOutputStream(), new WriterProperties().useSmartMode()));
+        int plainObjects = copyDocumentSeveralTimes(source, 3, new PdfWriter(new ByteArrayOutputStream()));
+        int smartObjects = copyDocumentSeveralTimes(source, 3, new PdfWriter(new ByteArrayOutputStream(), new WriterProperties().useSmartMode()));
+
+        // only the page dictionaries are copied again, the fonts and the content streams are reused
+        Assert.assertEquals(singleCopyObjects + 2 * 2, smartObjects);
+        Assert.assertTrue(plainObjects > smartObjects);
+
+        PdfWriter verifyingWriter = new PdfWriter(new ByteArrayOutputStream(), new WriterProperties().useSmartMode()) {
+            @Override
+            protected boolean isEqualToPreviouslyCopiedObject(PdfObject object, PdfIndirectReference previouslyCopiedObjectRef) {
+                return false;
+            }
+        };
+        Assert.assertEquals(plainObjects, copyDocumentSeveralTimes(source, 3, verifyingWriter));
+    }
+
+    private static byte[] createSmartModeSourceDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 0; i < 2; i++) {
+            new PdfCanvas(pdfDoc.addNewPage())
+                    .beginText()
+                    .setFontAndSize(font, 12)
+                    .moveText(36, 700)
+                    .showText("Page " + (i + 1))
+                    .endText()
+                    .release();
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static int copyDocumentSeveralTimes(byte[] source, int times, PdfWriter writer) throws IOException {
+        PdfDocument destDoc = new PdfDocument(writer);
+        for (int i = 0; i < times; i++) {
+            PdfDocument srcDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+            srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), destDoc);
+            srcDoc.close();
+        }
+        int numberOfObjects = destDoc.getNumberOfPdfObjects();
+        destDoc.close();
+        return numberOfObjects;
+    }
 }
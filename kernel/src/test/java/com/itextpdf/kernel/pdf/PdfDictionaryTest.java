@@ -6,8 +6,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
 
 public class PdfDictionaryTest {
 
@@ -420,4 +423,47 @@ public class PdfDictionaryTest {
         Assert.assertEquals(0, dict.values().size());
         Assert.assertEquals(0, dict.size());
     }
+
+    @Test
+    public void testKeyOrderAndGrowth() {
+        PdfDictionary dict = new PdfDictionary();
+        TreeMap<PdfName, PdfObject> expected = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            PdfName key = new PdfName("Key" + random.nextInt(40));
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), dict.remove(key));
+            } else {
+                PdfNumber value = new PdfNumber(i);
+                Assert.assertEquals(expected.put(key, value), dict.put(key, value));
+            }
+            Assert.assertEquals(expected.size(), dict.size());
+            Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(dict.keySet()));
+            Assert.assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(dict.values()));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (int count : new int[] {5, 30}) {
+            PdfDictionary dict = new PdfDictionary();
+            for (int i = 0; i < count; i++) {
+                dict.put(new PdfName("Key" + (char) ('A' + i)), new PdfNumber(i));
+            }
+            Iterator<PdfName> keys = dict.keySet().iterator();
+            while (keys.hasNext()) {
+                if (((PdfNumber) dict.get(keys.next())).intValue() % 2 == 0) {
+                    keys.remove();
+                }
+            }
+            Assert.assertEquals(count / 2, dict.size());
+            for (Map.Entry<PdfName, PdfObject> entry : dict.entrySet()) {
+                Assert.assertEquals(1, ((PdfNumber) entry.getValue()).intValue() % 2);
+                entry.setValue(new PdfNumber(-1));
+            }
+            for (PdfObject value : dict.values()) {
+                Assert.assertEquals(-1, ((PdfNumber) value).intValue());
+            }
+        }
+    }
 }
@@ -8,10 +8,13 @@ import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.TrueTypeCollection;
 import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
 import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.color.DeviceRgb;
+import com.itextpdf.kernel.font.GlyphLineCache;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.font.PdfTrueTypeFont;
@@ -29,6 +32,7 @@ import com.itextpdf.test.annotations.type.IntegrationTest;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Assert;
@@ -1311,5 +1315,71 @@ public class PdfFontTest extends ExtendedITextTest {
         Assert.assertTrue(list2.size() == 5);
     }
 
+    @Test
+    public void testCachedGlyphLine() throws IOException {
+        PdfFont font = PdfFontFactory.createFont(fontsFolder + "abserif4_5.ttf", PdfEncodings.IDENTITY_H);
+        GlyphLineCache cache = font.getGlyphLineCache();
+        GlyphLine glyphLine = font.createCachedGlyphLine("Total");
+        GlyphLine cachedGlyphLine = font.createCachedGlyphLine("Total");
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertNotSame(glyphLine, cachedGlyphLine);
+        Assert.assertEquals(glyphLine.size(), cachedGlyphLine.size());
+        for (int i = 0; i < glyphLine.size(); i++) {
+            Assert.assertSame(glyphLine.get(i), cachedGlyphLine.get(i));
+        }
+        Assert.assertEquals(font.getWidth("Total"), cache.getWidth("Total", null));
+
+        // modification of the returned glyph line doesn't affect the cache
+        cachedGlyphLine.set(0, glyphLine.get(1));
+        Assert.assertSame(glyphLine.get(0), font.createCachedGlyphLine("Total").get(0));
+
+        // the fonts of the other documents with the same font program and encoding share the cache
+        PdfFont otherFont = PdfFontFactory.createFont(fontsFolder + "abserif4_5.ttf", PdfEncodings.IDENTITY_H);
+        Assert.assertSame(cache, otherFont.getGlyphLineCache());
+        Assert.assertNotSame(cache, PdfFontFactory.createFont(fontsFolder + "abserif4_5.ttf", PdfEncodings.WINANSI).getGlyphLineCache());
+        Assert.assertNull(PdfFontFactory.createType3Font(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())), false).getGlyphLineCache());
+    }
+
+
+    @Test
+    public void testCachedGlyphLineReordering() throws IOException {
+        PdfFont font = PdfFontFactory.createFont(fontsFolder + "NotoNaskhArabic-Regular.ttf", PdfEncodings.IDENTITY_H);
+        String text = "\u0628\u0650\u0633\u0645";
+        // the kasra mark is positioned relative to the preceding letter, as GPOS does
+        GlyphLine shaped = font.createGlyphLine(text);
+        shaped.set(1, new Glyph(shaped.get(1), 100, -200, 0, 0, -1));
+        GlyphLineCache cache = font.getGlyphLineCache();
+        cache.put(text, "arab kern", shaped);
+
+        for (int i = 0; i < 2; i++) {
+            GlyphLine reordered = reorderRightToLeft(cache.get(text, "arab kern"));
+            Assert.assertEquals(0x0650, reordered.get(2).getUnicode());
+            Assert.assertEquals(1, reordered.get(2).getAnchorDelta());
+        }
+        Assert.assertEquals(-1, cache.get(text, "arab kern").get(1).getAnchorDelta());
+        Assert.assertNotSame(cache.get(text, "arab kern").get(1), cache.get(text, "arab kern").get(1));
+    }
+
+    /**
+     * Reverses the glyph line and fixes the anchors of the positioned glyphs in place, the same way the layout
+     * reorders a right-to-left line.
+     */
+    private static GlyphLine reorderRightToLeft(GlyphLine line) {
+        int size = line.size();
+        List<Glyph> reordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reordered.add(line.get(size - 1 - i));
+        }
+        for (int i = 0; i < size; i++) {
+            Glyph glyph = reordered.get(i);
+            if (glyph.hasPlacement()) {
+                int oldAnchor = size - 1 - i + glyph.getAnchorDelta();
+                glyph.setAnchorDelta((short) (size - 1 - oldAnchor - i));
+            }
+        }
+        line.setGlyphs(reordered);
+        return line;
+    }
+
 
 }
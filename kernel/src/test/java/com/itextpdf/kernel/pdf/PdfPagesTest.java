@@ -46,6 +46,34 @@ public class PdfPagesTest extends ExtendedITextTest{
         verifyPagesOrder(destinationFolder + filename, pageCount);
     }
 
+    @Test
+    public void flushedPagesTest() throws IOException {
+        String filename = "flushedPagesTest.pdf";
+        int pageCount = 111;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(destinationFolder + filename));
+        PdfPage[] pages = new PdfPage[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            pages[i] = pdfDoc.addNewPage();
+            pages[i].getPdfObject().put(PageNum, new PdfNumber(i + 1));
+            if (i % 2 == 0) {
+                pages[i].flush();
+            }
+        }
+        for (int i = 0; i < pageCount; i++) {
+            // wrappers of the flushed pages are not kept by the document, but they are still found by page dictionary
+            Assert.assertEquals(i + 1, pdfDoc.getPageNumber(pages[i]));
+            PdfPage page = pdfDoc.getPage(i + 1);
+            Assert.assertTrue(page.getPdfObject() == pages[i].getPdfObject());
+            Assert.assertEquals(i % 2 == 0, page.isFlushed());
+            if (i % 2 != 0) {
+                Assert.assertTrue(page == pages[i]);
+            }
+        }
+        pdfDoc.close();
+        verifyPagesOrder(destinationFolder + filename, pageCount);
+    }
+
 //    @Test
 //    public void simpleClonePagesTest() throws IOException {
 //        String filename = "simpleClonePagesTest.pdf";
@@ -373,5 +401,36 @@ public class PdfPagesTest extends ExtendedITextTest{
         pdfDoc.close();
     }
 
+    @Test
+    public void directPageDictionariesTest() throws IOException {
+        String filename = sourceFolder + "directPageDictionaries.pdf";
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename));
+        Assert.assertEquals(2, pdfDoc.getNumberOfPages());
+        PdfPage page = pdfDoc.getPage(2);
+        Assert.assertEquals(200, page.getPageSize().getWidth(), 0);
+        Assert.assertEquals(2, pdfDoc.getPageNumber(page));
+        Assert.assertEquals("%page 1\n", new String(pdfDoc.getPage(1).getContentBytes()));
+        pdfDoc.close();
+    }
+
+    @Test
+    public void directPageDictionariesAppendModeTest() throws IOException {
+        String filename = destinationFolder + "directPageDictionariesAppendMode.pdf";
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(sourceFolder + "directPageDictionaries.pdf"),
+                new PdfWriter(filename), new StampingProperties().useAppendMode());
+        pdfDoc.getPage(2).setRotation(90);
+        pdfDoc.close();
+
+        PdfReader reader = new PdfReader(filename);
+        pdfDoc = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        Assert.assertEquals(2, pdfDoc.getNumberOfPages());
+        Assert.assertEquals(0, pdfDoc.getPage(1).getRotation());
+        Assert.assertEquals(90, pdfDoc.getPage(2).getRotation());
+        pdfDoc.close();
+    }
+
 
 }
@@ -2,8 +2,11 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteBufferPool;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
@@ -14,12 +17,21 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
 
 @Category(IntegrationTest.class)
 public class PdfReaderTest extends ExtendedITextTest{
@@ -73,6 +85,79 @@ public class PdfReaderTest extends ExtendedITextTest{
         pdfDoc.close();
     }
 
+    @Test
+    public void lazyIndirectReferencesCreationTest() throws IOException {
+        String[] files = new String[] {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf"};
+        for (String file : files) {
+            PdfReader reader = new PdfReader(sourceFolder + file);
+            PdfDocument pdfDoc = new PdfDocument(reader);
+            PdfXrefTable xref = pdfDoc.getXref();
+            int createdReferences = countCreatedReferences(xref);
+            Assert.assertTrue("Indirect references shall be created on request", createdReferences < xref.size() / 2);
+
+            PdfDictionary page = pdfDoc.getPage(500).getPdfObject();
+            Assert.assertEquals(PdfName.Page, page.getAsName(PdfName.Type));
+            Assert.assertTrue(countCreatedReferences(xref) > createdReferences);
+            Assert.assertSame(page.getIndirectReference(), xref.get(page.getIndirectReference().getObjNumber()));
+
+            Assert.assertEquals(xref.size(), pdfDoc.listIndirectReferences().size());
+            Assert.assertEquals(xref.size(), countCreatedReferences(xref));
+            Assert.assertFalse(reader.hasRebuiltXref());
+            pdfDoc.close();
+        }
+    }
+
+    @Test
+    public void concurrentPagesReadingTest() throws IOException, InterruptedException, ExecutionException {
+        String[] files = new String[] {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf"};
+        for (String file : files) {
+            PdfDocument pdfDoc = new PdfDocument(new PdfReader(sourceFolder + file));
+            int numberOfPages = pdfDoc.getNumberOfPages();
+            List<String> expected = new ArrayList<>(numberOfPages);
+            for (int i = 1; i <= numberOfPages; i++) {
+                expected.add(PdfTextExtractor.getTextFromPage(pdfDoc.getPage(i)));
+            }
+            pdfDoc.close();
+
+            final PdfReader reader = new PdfReader(sourceFolder + file);
+            final PdfDocument concurrentDoc = new PdfDocument(reader);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> texts = new ArrayList<>(numberOfPages);
+                for (int i = 1; i <= numberOfPages; i++) {
+                    final int pageNum = i;
+                    texts.add(executor.submit(new Callable<String>() {
+                        @Override
+                        public String call() {
+                            return PdfTextExtractor.getTextFromPage(concurrentDoc.getPage(pageNum));
+                        }
+                    }));
+                }
+                for (int i = 0; i < numberOfPages; i++) {
+                    Assert.assertEquals(expected.get(i), texts.get(i).get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            for (int i = 1; i < numberOfPages; i++) {
+                Assert.assertNotSame(concurrentDoc.getPage(i), concurrentDoc.getPage(i + 1));
+                Assert.assertSame(concurrentDoc.getPage(i), concurrentDoc.getPage(i));
+            }
+            Assert.assertFalse(reader.hasRebuiltXref());
+            concurrentDoc.close();
+        }
+    }
+
+    private static int countCreatedReferences(PdfXrefTable xref) {
+        int count = 0;
+        for (int i = 0; i < xref.size(); i++) {
+            if (xref.getCreatedReference(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Test
     public void openSimpleDocWithFullCompression() throws IOException {
         String filename = sourceFolder + "simpleCanvasWithFullCompression.pdf";
@@ -1428,6 +1513,90 @@ public class PdfReaderTest extends ExtendedITextTest{
         pdfDoc.close();
     }
 
+    @Test
+    public void byteBufferPoolTest() throws IOException {
+        ByteBufferPool bufferPool = new ByteBufferPool();
+        String[] files = {"1000PagesDocumentWithFullCompression.pdf", "100PagesDocumentWithFlateFilter.pdf", "simpleCanvasWithFullCompression.pdf"};
+        for (String file : files) {
+            PdfDocument pdfDoc = new PdfDocument(new PdfReader(sourceFolder + file));
+            PdfDocument pooledPdfDoc = new PdfDocument(new PdfReader(sourceFolder + file, new ReaderProperties().setByteBufferPool(bufferPool)));
+            Assert.assertEquals(pdfDoc.getNumberOfPdfObjects(), pooledPdfDoc.getNumberOfPdfObjects());
+            for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+                PdfObject object = pdfDoc.getPdfObject(i);
+                PdfObject pooledObject = pooledPdfDoc.getPdfObject(i);
+                if (object instanceof PdfStream) {
+                    Assert.assertArrayEquals(file + " " + i, ((PdfStream) object).getBytes(), ((PdfStream) pooledObject).getBytes());
+                }
+            }
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDoc.getPage(i)), PdfTextExtractor.getTextFromPage(pooledPdfDoc.getPage(i)));
+            }
+            pdfDoc.close();
+            pooledPdfDoc.close();
+        }
+        Assert.assertTrue(bufferPool.getPooledCount() > 0);
+    }
+
+    @Test
+    public void readStreamTest() throws IOException {
+        String[] files = {"1000PagesDocumentWithFullCompression.pdf", "100PagesDocumentWithFlateFilter.pdf", "simpleCanvasWithFullCompression.pdf"};
+        for (String file : files) {
+            PdfReader reader = new PdfReader(sourceFolder + file);
+            PdfDocument pdfDoc = new PdfDocument(reader);
+            for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+                PdfObject object = pdfDoc.getPdfObject(i);
+                if (object instanceof PdfStream) {
+                    for (boolean decode : new boolean[] {false, true}) {
+                        InputStream stream = reader.readStream((PdfStream) object, decode);
+                        Assert.assertArrayEquals(file + " " + i, reader.readStreamBytes((PdfStream) object, decode), StreamUtil.inputStreamToArray(stream));
+                        stream.close();
+                    }
+                }
+            }
+            pdfDoc.close();
+        }
+    }
+
+    @Test
+    public void readStreamWithFilterChainTest() throws IOException {
+        byte[] rows = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        // PNG Sub, Up and None filtered rows of 4 bytes
+        byte[] predicted = {1, 1, 1, 1, 1, 2, 4, 4, 4, 4, 0, 9, 10, 11, 12};
+        Deflater deflater = new Deflater();
+        deflater.setInput(predicted);
+        deflater.finish();
+        byte[] deflated = new byte[100];
+        deflated = Arrays.copyOf(deflated, deflater.deflate(deflated));
+        deflater.end();
+        StringBuilder hex = new StringBuilder();
+        for (byte b : deflated) {
+            hex.append(String.format("%02X ", b & 0xff));
+        }
+        hex.append('>');
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfStream stream = new PdfStream(ByteUtils.getIsoBytes(hex.toString()));
+        stream.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+        stream.put(PdfName.Filter, new PdfArray(Arrays.asList((PdfObject) PdfName.ASCIIHexDecode, PdfName.FlateDecode)));
+        PdfDictionary decodeParams = new PdfDictionary();
+        decodeParams.put(PdfName.Predictor, new PdfNumber(12));
+        decodeParams.put(PdfName.Columns, new PdfNumber(4));
+        stream.put(PdfName.DecodeParms, new PdfArray(Arrays.asList(PdfNull.PDF_NULL, decodeParams)));
+        int objNumber = stream.makeIndirect(pdfDoc).getIndirectReference().getObjNumber();
+        pdfDoc.addNewPage().getPdfObject().put(new PdfName("TestStream"), stream);
+        pdfDoc.close();
+
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(baos.toByteArray()));
+        pdfDoc = new PdfDocument(reader);
+        stream = (PdfStream) pdfDoc.getPdfObject(objNumber);
+        InputStream decoded = reader.readStream(stream, true);
+        Assert.assertArrayEquals(rows, StreamUtil.inputStreamToArray(decoded));
+        decoded.close();
+        Assert.assertArrayEquals(rows, reader.readStreamBytes(stream, true));
+        pdfDoc.close();
+    }
+
 
     private boolean objectTypeEqualTo(PdfObject object, PdfName type) {
         PdfName objectType = ((PdfDictionary)object).getAsName(PdfName.Type);
@@ -1141,6 +1141,42 @@ public class PdfStampingTest extends ExtendedITextTest {
         pdfDocument.close();
     }
 
+    @Test
+    public void stampingAppend12() throws IOException {
+        String filename1 = destinationFolder + "stampingAppend12_1.pdf";
+        String filename2 = destinationFolder + "stampingAppend12_2.pdf";
+        int pageCount = 10;
+
+        PdfWriter writer1 = new PdfWriter(filename1);
+        PdfDocument pdfDoc1 = new PdfDocument(writer1);
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = pdfDoc1.addNewPage();
+            page.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page " + i + "\n"));
+            page.flush();
+        }
+        // object that is not referenced from anywhere and thus is never read while stamping
+        new PdfDictionary().makeIndirect(pdfDoc1).flush();
+        pdfDoc1.close();
+
+        PdfReader reader2 = new PdfReader(filename1);
+        PdfWriter writer2 = new PdfWriter(filename2);
+        PdfDocument pdfDoc2 = new PdfDocument(reader2, writer2, new StampingProperties().useAppendMode());
+        int xrefSize = pdfDoc2.getXref().size();
+        pdfDoc2.getPage(1).getPdfObject().put(PdfName.Rotate, new PdfNumber(90));
+        pdfDoc2.getPage(1).setModified();
+        pdfDoc2.close();
+
+        PdfReader reader = new PdfReader(filename2);
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+        assertEquals("Xref size", xrefSize, pdfDocument.getTrailer().getAsNumber(PdfName.Size).intValue());
+        for (int i = 1; i <= pageCount; i++) {
+            byte[] bytes = pdfDocument.getPage(i).getContentBytes();
+            assertEquals("Page content at page " + i, "%page " + i + "\n", new String(bytes));
+        }
+        pdfDocument.close();
+    }
+
     @Test
     public void stampingVersionTest01() throws IOException {
         // By default the version of the output file should be the same as the original one
@@ -1194,6 +1230,48 @@ public class PdfStampingTest extends ExtendedITextTest {
         assertPdfDoc.close();
     }
 
+    @Test
+    public void stampingStreamingAppendModeTest() throws IOException {
+        String filename1 = destinationFolder + "stampingStreamingAppendMode_1.pdf";
+        String filename2 = destinationFolder + "stampingStreamingAppendMode_2.pdf";
+        int pageCount = 100;
+
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(filename1));
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = pdfDoc1.addNewPage();
+            page.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page " + i + "\n"));
+            page.flush();
+        }
+        pdfDoc1.close();
+
+        PdfDocument pdfDoc2 = new PdfDocument(new PdfReader(filename1), new PdfWriter(filename2), new StampingProperties().useStreamingAppendMode());
+        assertTrue(pdfDoc2.isAppendMode());
+        PdfXrefTable xref = pdfDoc2.getXref();
+        for (int i = 1; i <= pageCount; i++) {
+            PdfStream contentStream = pdfDoc2.getPage(i).getContentStream(0);
+            String content = new String(contentStream.getBytes()) + "%stamp " + i + "\n";
+            contentStream.setData(ByteUtils.getIsoBytes(content));
+            contentStream.setModified();
+            // modified object is written instead of being released in streaming append mode
+            contentStream.release();
+            PdfIndirectReference streamReference = contentStream.getIndirectReference();
+            assertTrue(streamReference.checkState(PdfObject.FLUSHED));
+            // only cross-reference entry of the written object is kept
+            assertNull(xref.getCreatedReference(streamReference.getObjNumber()));
+        }
+        pdfDoc2.close();
+
+        PdfReader reader = new PdfReader(filename2);
+        PdfDocument pdfDoc3 = new PdfDocument(reader);
+        assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+        assertEquals(pageCount, pdfDoc3.getNumberOfPages());
+        for (int i = 1; i <= pageCount; i++) {
+            assertEquals("%page " + i + "\n%stamp " + i + "\n", new String(pdfDoc3.getPage(i).getContentBytes()));
+        }
+        verifyPdfPagesCount(pdfDoc3.getCatalog().getPageTree().getRoot().getPdfObject());
+        pdfDoc3.close();
+    }
+
     @Test
     public void stampingTestWithTaggedStructure() throws IOException {
         String filename = sourceFolder + "iphone_user_guide.pdf";
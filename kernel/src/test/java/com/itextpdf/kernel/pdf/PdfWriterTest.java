@@ -1,8 +1,11 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.FlateCoderPool;
 import com.itextpdf.io.util.DateTimeUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -13,6 +16,7 @@ import org.junit.experimental.categories.Category;
 import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.TreeMap;
@@ -584,4 +588,104 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelCompressionTest() throws IOException {
+        String filename = destinationFolder + "parallelCompressionTest.pdf";
+        String fullCompressionFilename = destinationFolder + "parallelCompressionTest_full.pdf";
+        createDocumentWithManyStreams(filename, new WriterProperties().useParallelCompression(4));
+        createDocumentWithManyStreams(fullCompressionFilename, new WriterProperties().useParallelCompression(4).setFullCompressionMode(true));
+
+        for (String file : new String[] {filename, fullCompressionFilename}) {
+            PdfReader reader = new PdfReader(file);
+            PdfDocument pdfDocument = new PdfDocument(reader);
+            Assert.assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+            Assert.assertEquals(100, pdfDocument.getNumberOfPages());
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                PdfStream contentStream = pdfDocument.getPage(i).getFirstContentStream();
+                Assert.assertEquals(PdfName.FlateDecode, contentStream.getAsName(PdfName.Filter));
+                Assert.assertArrayEquals(createPageContent(i), contentStream.getBytes());
+            }
+            pdfDocument.close();
+        }
+    }
+
+    @Test
+    public void streamCompressionPolicyTest() throws IOException {
+        byte[] defaultDocument = createDocumentWithFormXObject(new WriterProperties());
+        WriterProperties properties = new WriterProperties()
+                .setCompressionLevel(PdfName.Form, CompressionConstants.NO_COMPRESSION)
+                .setCompressionStrategy(PdfName.Contents, CompressionConstants.HUFFMAN_ONLY);
+        byte[] policyDocument = createDocumentWithFormXObject(properties);
+        byte[] parallelPolicyDocument = createDocumentWithFormXObject(properties.useParallelCompression(2));
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(defaultDocument)));
+        PdfStream defaultContentStream = pdfDocument.getPage(1).getFirstContentStream();
+        int defaultContentLength = defaultContentStream.getBytes(false).length;
+        Assert.assertEquals(PdfName.FlateDecode, pdfDocument.getPage(1).getResources().getResource(PdfName.XObject).getAsStream(new PdfName("Fm1")).get(PdfName.Filter));
+        pdfDocument.close();
+
+        for (byte[] document : new byte[][] {policyDocument, parallelPolicyDocument}) {
+            pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)));
+            PdfStream contentStream = pdfDocument.getPage(1).getFirstContentStream();
+            Assert.assertEquals(PdfName.FlateDecode, contentStream.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(createPageContent(1), contentStream.getBytes());
+            // Huffman-only compression doesn't look for the repeated strings, so the content gets larger
+            Assert.assertTrue(contentStream.getBytes(false).length > defaultContentLength);
+            PdfStream formStream = pdfDocument.getPage(1).getResources().getResource(PdfName.XObject).getAsStream(new PdfName("Fm1"));
+            Assert.assertNull(formStream.get(PdfName.Filter));
+            Assert.assertArrayEquals(createPageContent(2), formStream.getBytes());
+            pdfDocument.close();
+        }
+    }
+
+    @Test
+    public void deflaterReleasedOnFailedStreamTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        PdfStream stream = new PdfStream(pdfDocument, new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken input");
+            }
+        });
+        int pooledDeflaters = FlateCoderPool.getInstance().getPooledDeflaterCount();
+        try {
+            stream.flush();
+            Assert.fail("PdfException expected");
+        } catch (PdfException expected) {
+        }
+        Assert.assertEquals(Math.max(pooledDeflaters, 1), FlateCoderPool.getInstance().getPooledDeflaterCount());
+    }
+
+    private static byte[] createDocumentWithFormXObject(WriterProperties properties) {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        PdfPage page = pdfDocument.addNewPage();
+        page.getFirstContentStream().getOutputStream().writeBytes(createPageContent(1));
+        PdfFormXObject form = new PdfFormXObject(new Rectangle(100, 100));
+        form.getPdfObject().getOutputStream().writeBytes(createPageContent(2));
+        page.getResources().addForm(form);
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static void createDocumentWithManyStreams(String filename, WriterProperties properties) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(filename, properties));
+        for (int i = 1; i <= 100; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            page.getFirstContentStream().getOutputStream().writeBytes(createPageContent(i));
+            if (i % 10 == 0) {
+                page.flush();
+            }
+        }
+        pdfDocument.close();
+    }
+
+    private static byte[] createPageContent(int pageNumber) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append(pageNumber).append(' ').append(i).append(" m ").append(i).append(' ').append(pageNumber).append(" l S\n");
+        }
+        return ByteUtils.getIsoBytes(content.toString());
+    }
 }
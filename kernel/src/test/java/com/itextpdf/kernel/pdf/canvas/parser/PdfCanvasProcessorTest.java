@@ -2,6 +2,8 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteBufferPool;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
@@ -12,14 +14,17 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Set;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -98,4 +103,38 @@ public class PdfCanvasProcessorTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void tokenBufferReleasedOnFailureTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        new PdfCanvas(pdfDoc.addNewPage()).rectangle(100, 100, 100, 100).fill();
+        pdfDoc.close();
+
+        ByteBufferPool bufferPool = new ByteBufferPool();
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setByteBufferPool(bufferPool)));
+        PdfPage page = pdfDoc.getPage(1);
+        page.getContentBytes();
+        int pooledCount = bufferPool.getPooledCount();
+
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new IEventListener() {
+            public void eventOccurred(IEventData data, EventType type) {
+                if (type == EventType.RENDER_PATH) {
+                    throw new IllegalStateException();
+                }
+            }
+
+            public Set<EventType> getSupportedEvents() {
+                return null;
+            }
+        });
+        try {
+            processor.processPageContent(page);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+        Assert.assertEquals(pooledCount, bufferPool.getPooledCount());
+        pdfDoc.close();
+    }
+
 }
@@ -0,0 +1,104 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfTextExtractorTest extends ExtendedITextTest {
+
+    @Test
+    public void extractAllTest() throws IOException {
+        byte[] pdf = createDocument(50);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            expected.add(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), new LocationTextExtractionStrategy()));
+        }
+        pdfDocument.close();
+
+        ITextExtractionStrategyFactory strategyFactory = new ITextExtractionStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy() {
+                return new LocationTextExtractionStrategy();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+            List<String> texts = PdfTextExtractor.extractAll(pdfDocument, strategyFactory, executor);
+            Assert.assertEquals(expected, texts);
+            pdfDocument.close();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals("Page 1\nHelvetica text\nCourier text", expected.get(0));
+        Assert.assertEquals("Page 50\nHelvetica text\nCourier text", expected.get(49));
+    }
+
+    @Test
+    public void extractAllInCallingThreadTest() throws IOException {
+        byte[] pdf = createDocument(3);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        List<String> texts = PdfTextExtractor.extractAll(pdfDocument, new ITextExtractionStrategyFactory() {
+            @Override
+            public ITextExtractionStrategy createStrategy() {
+                return new SimpleTextExtractionStrategy();
+            }
+        }, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        Assert.assertEquals(3, texts.size());
+        Assert.assertEquals("Page 2\nHelvetica text\nCourier text", texts.get(1));
+        pdfDocument.close();
+    }
+
+    private static byte[] createDocument(int numberOfPages) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont helvetica = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        PdfFont courier = PdfFontFactory.createFont(FontConstants.COURIER);
+        for (int i = 1; i <= numberOfPages; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(helvetica, 12)
+                    .moveText(36, 700)
+                    .showText("Page " + i)
+                    .moveText(0, -20)
+                    .showText("Helvetica text")
+                    .setFontAndSize(courier, 12)
+                    .moveText(0, -20)
+                    .showText("Courier text")
+                    .endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
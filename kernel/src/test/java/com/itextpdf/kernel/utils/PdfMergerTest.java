@@ -13,6 +13,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.Assert;
@@ -65,6 +70,74 @@ public class PdfMergerTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void mergeDocumentWithPrefetchTest01() throws IOException, InterruptedException {
+        String resultFile = destinationFolder + "mergedResultWithPrefetch01.pdf";
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        for (final String filename : new String[] {"courierTest.pdf", "helveticaTest.pdf", "timesRomanTest.pdf"}) {
+            sources.add(new Callable<PdfDocument>() {
+                @Override
+                public PdfDocument call() throws IOException {
+                    return new PdfDocument(new PdfReader(sourceFolder + filename));
+                }
+            });
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(resultFile));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new PdfMerger(pdfDoc).merge(sources, 2, executor).close();
+        } finally {
+            executor.shutdown();
+        }
+
+        CompareTool compareTool = new CompareTool();
+        String errorMessage = compareTool.compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf", destinationFolder, "diff_");
+        if (errorMessage != null) {
+            Assert.fail(errorMessage);
+        }
+    }
+
+    @Test
+    public void prefetchedDocumentClosedOnFailureTest() throws IOException, InterruptedException {
+        final CountDownLatch secondSourceStarted = new CountDownLatch(1);
+        final AtomicBoolean secondSourceClosed = new AtomicBoolean();
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        sources.add(new Callable<PdfDocument>() {
+            @Override
+            public PdfDocument call() throws InterruptedException {
+                secondSourceStarted.await();
+                throw new IllegalStateException("Broken source");
+            }
+        });
+        sources.add(new Callable<PdfDocument>() {
+            @Override
+            public PdfDocument call() throws IOException, InterruptedException {
+                secondSourceStarted.countDown();
+                // still being opened when the merge fails
+                Thread.sleep(200);
+                return new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf")) {
+                    @Override
+                    public void close() {
+                        secondSourceClosed.set(true);
+                        super.close();
+                    }
+                };
+            }
+        });
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new PdfMerger(pdfDoc).merge(sources, 2, executor);
+            Assert.fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(secondSourceClosed.get());
+    }
+
     @Test
     public void mergeDocumentTest02() throws IOException, InterruptedException {
         String filename = sourceFolder + "doc1.pdf";
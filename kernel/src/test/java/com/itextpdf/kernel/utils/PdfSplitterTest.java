@@ -181,4 +181,38 @@ public class PdfSplitterTest extends ExtendedITextTest{
                                                                  sourceFolder + "cmp/" + "splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
         }
     }
+
+    @Test
+    public void splitDocumentBySizeWithListener() throws IOException, InterruptedException {
+        String inputFileName = sourceFolder + "splitBySize.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+
+            int partNumber = 1;
+
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "splitBySizeWithListener_part" + String.valueOf(partNumber++) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+
+        final List<PageRange> pageRanges = new ArrayList<>();
+        splitter.splitBySize(100000, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                pageRanges.add(pageRange);
+                pdfDocument.close();
+            }
+        });
+
+        Assert.assertEquals(4, pageRanges.size());
+        for (int i = 1; i <= 4; ++i) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitBySizeWithListener_part" + i + ".pdf",
+                    sourceFolder + "cmp/" + "splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
 }
@@ -0,0 +1,147 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.layout.element.BlockElement;
+import com.itextpdf.layout.element.IElement;
+import com.itextpdf.layout.element.Image;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The content of a single page, which is laid out independently of the other pages by {@link ParallelPageLayout}.
+ * <br/>
+ * The content is placed into one or more fixed areas of the page. The elements added to the same area flow
+ * from its top to its bottom, as if they were added to a {@link Canvas} with this area as the root area:
+ * the content which doesn't fit the area is skipped.
+ * <br/>
+ * The element instances must not be shared between pages, since the layout of the pages runs concurrently.
+ */
+public class PageContent {
+
+    private final PageSize pageSize;
+    private final List<Rectangle> areas = new ArrayList<>();
+    private final List<List<IElement>> areaElements = new ArrayList<>();
+
+    /**
+     * Creates the content of a page of the given size.
+     *
+     * @param pageSize the size of the page
+     */
+    public PageContent(PageSize pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Adds an element to the area of the page. The element is placed below the elements previously added
+     * to an area with the same coordinates.
+     *
+     * @param area the area of the page, in the page coordinates
+     * @param element the element to add
+     * @param <T> the type of the element
+     * @return this {@code PageContent} instance.
+     */
+    public <T extends IElement> PageContent add(Rectangle area, BlockElement<T> element) {
+        getAreaElements(area).add(element);
+        return this;
+    }
+
+    /**
+     * Adds an image to the area of the page. The image is placed below the elements previously added
+     * to an area with the same coordinates.
+     *
+     * @param area the area of the page, in the page coordinates
+     * @param image the image to add
+     * @return this {@code PageContent} instance.
+     */
+    public PageContent add(Rectangle area, Image image) {
+        getAreaElements(area).add(image);
+        return this;
+    }
+
+    /**
+     * Gets the size of the page.
+     *
+     * @return the size of the page
+     */
+    public PageSize getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the areas of the page, in the order they were first added to.
+     *
+     * @return the list of the areas
+     */
+    public List<Rectangle> getAreas() {
+        return areas;
+    }
+
+    /**
+     * Gets the elements added to the area with the given index.
+     *
+     * @param areaIndex the index of the area in the list returned by {@link #getAreas()}
+     * @return the list of the elements in the order they were added
+     */
+    public List<IElement> getElements(int areaIndex) {
+        return areaElements.get(areaIndex);
+    }
+
+    private List<IElement> getAreaElements(Rectangle area) {
+        for (int i = 0; i < areas.size(); i++) {
+            Rectangle existing = areas.get(i);
+            if (existing.getX() == area.getX() && existing.getY() == area.getY()
+                    && existing.getWidth() == area.getWidth() && existing.getHeight() == area.getHeight()) {
+                return areaElements.get(i);
+            }
+        }
+        List<IElement> elements = new ArrayList<>();
+        areas.add(area.clone());
+        areaElements.add(elements);
+        return elements;
+    }
+}
@@ -0,0 +1,336 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.layout.element.BlockElement;
+import com.itextpdf.layout.element.IElement;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
+import com.itextpdf.layout.renderer.CanvasRenderer;
+import com.itextpdf.layout.renderer.RootRenderer;
+import com.itextpdf.layout.splitting.DefaultSplitCharacters;
+import com.itextpdf.layout.splitting.ISplitCharacters;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Adds pages with independent fixed-area content, such as labels or mail merge letters, to a {@link PdfDocument}.
+ * <br/>
+ * The pages are split into batches, which are laid out concurrently on the given {@link Executor}.
+ * The laid out pages are then added to the end of the document and drawn on the calling thread,
+ * strictly in the order of iteration, since drawing registers fonts, images and other resources
+ * in the document, which is not thread-safe. Only a limited number of batches is laid out in advance,
+ * so the pages may be produced by a lazy {@link Iterable} and a document with many thousands of pages
+ * doesn't have to be kept in memory.
+ * <br/>
+ * The properties set on this instance (e.g. font or font size) are inherited by the content of all the pages.
+ * The content of a page must not share element instances, fonts which are modified while in use
+ * (such as Type 3 fonts) or other mutable objects with the content of the other pages.
+ */
+public class ParallelPageLayout extends ElementPropertyContainer<ParallelPageLayout> {
+
+    private static final int DEFAULT_PAGES_PER_TASK = 16;
+
+    private final PdfDocument pdfDocument;
+    private int pagesPerTask = DEFAULT_PAGES_PER_TASK;
+    private int maxPendingTasks = 2 * Runtime.getRuntime().availableProcessors();
+    private boolean immediateFlush = true;
+
+    private PdfFont defaultFont;
+    private ISplitCharacters defaultSplitCharacters;
+
+    /**
+     * Creates a layout, which adds the pages to the given document.
+     *
+     * @param pdfDocument the document to add the pages to
+     */
+    public ParallelPageLayout(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Gets the {@link PdfDocument} the pages are added to.
+     *
+     * @return the document
+     */
+    public PdfDocument getPdfDocument() {
+        return pdfDocument;
+    }
+
+    /**
+     * Sets the number of pages which are laid out by one task. The default value is 16.
+     *
+     * @param pagesPerTask the number of pages in a batch
+     * @return this {@code ParallelPageLayout} instance.
+     */
+    public ParallelPageLayout setPagesPerTask(int pagesPerTask) {
+        if (pagesPerTask < 1) {
+            throw new IllegalArgumentException("The number of pages per task must be a positive integer");
+        }
+        this.pagesPerTask = pagesPerTask;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches which are laid out in advance, while the previous pages are being drawn.
+     * The default value is twice the number of the available processors.
+     *
+     * @param maxPendingTasks the maximum number of batches laid out in advance
+     * @return this {@code ParallelPageLayout} instance.
+     */
+    public ParallelPageLayout setMaxPendingTasks(int maxPendingTasks) {
+        if (maxPendingTasks < 1) {
+            throw new IllegalArgumentException("The number of pending tasks must be a positive integer");
+        }
+        this.maxPendingTasks = maxPendingTasks;
+        return this;
+    }
+
+    /**
+     * Defines whether the pages are flushed right after they are drawn. The default value is {@code true}.
+     * Note that the flushed pages can not be modified anymore.
+     *
+     * @param immediateFlush whether the pages are flushed right after they are drawn
+     * @return this {@code ParallelPageLayout} instance.
+     */
+    public ParallelPageLayout setImmediateFlush(boolean immediateFlush) {
+        this.immediateFlush = immediateFlush;
+        return this;
+    }
+
+    /**
+     * Lays out the pages on the given executor and adds them to the end of the document in the order of iteration.
+     *
+     * @param pages the content of the pages
+     * @param executor the executor on which the pages are laid out
+     * @return this {@code ParallelPageLayout} instance.
+     */
+    public ParallelPageLayout addPages(Iterable<PageContent> pages, Executor executor) {
+        // The shared defaults are resolved on the calling thread, so that the pages don't create their own ones
+        if (defaultFont == null) {
+            try {
+                defaultFont = PdfFontFactory.createFont();
+            } catch (IOException exc) {
+                throw new RuntimeException(exc.toString(), exc);
+            }
+        }
+        if (defaultSplitCharacters == null) {
+            defaultSplitCharacters = new DefaultSplitCharacters();
+        }
+        Map<Integer, Object> rootProperties = new PropertyMap(properties);
+
+        Iterator<PageContent> iterator = pages.iterator();
+        Deque<FutureTask<List<LaidOutPage>>> pending = new ArrayDeque<>(maxPendingTasks);
+        int pageNumber = pdfDocument.getNumberOfPages() + 1;
+        try {
+            while (true) {
+                while (pending.size() < maxPendingTasks && iterator.hasNext()) {
+                    List<PageContent> batch = new ArrayList<>(pagesPerTask);
+                    while (batch.size() < pagesPerTask && iterator.hasNext()) {
+                        batch.add(iterator.next());
+                    }
+                    pending.add(layout(batch, pageNumber, rootProperties, executor));
+                    pageNumber += batch.size();
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+                for (LaidOutPage laidOutPage : getLaidOut(pending.poll())) {
+                    draw(laidOutPage);
+                }
+            }
+        } finally {
+            for (FutureTask<List<LaidOutPage>> task : pending) {
+                task.cancel(false);
+            }
+        }
+        return this;
+    }
+
+    private FutureTask<List<LaidOutPage>> layout(final List<PageContent> batch, final int firstPageNumber,
+                                                 final Map<Integer, Object> rootProperties, Executor executor) {
+        FutureTask<List<LaidOutPage>> task = new FutureTask<>(new Callable<List<LaidOutPage>>() {
+            @Override
+            public List<LaidOutPage> call() {
+                List<LaidOutPage> laidOutPages = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    PageContent content = batch.get(i);
+                    List<PageAreaCanvas> areas = new ArrayList<>(content.getAreas().size());
+                    for (int areaIndex = 0; areaIndex < content.getAreas().size(); areaIndex++) {
+                        PageAreaCanvas area = new PageAreaCanvas(pdfDocument, content.getAreas().get(areaIndex),
+                                firstPageNumber + i);
+                        for (Map.Entry<Integer, Object> property : rootProperties.entrySet()) {
+                            area.setProperty(property.getKey(), property.getValue());
+                        }
+                        area.defaultFont = defaultFont;
+                        area.defaultSplitCharacters = defaultSplitCharacters;
+                        for (IElement element : content.getElements(areaIndex)) {
+                            if (element instanceof Image) {
+                                area.add((Image) element);
+                            } else {
+                                area.add((BlockElement<?>) element);
+                            }
+                        }
+                        areas.add(area);
+                    }
+                    laidOutPages.add(new LaidOutPage(content, areas));
+                }
+                return laidOutPages;
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    private void draw(LaidOutPage laidOutPage) {
+        PdfPage page = pdfDocument.addNewPage(laidOutPage.content.getPageSize());
+        PdfCanvas pdfCanvas = new PdfCanvas(page);
+        for (PageAreaCanvas area : laidOutPage.areas) {
+            area.draw(page, pdfCanvas);
+        }
+        if (immediateFlush) {
+            page.flush();
+        }
+    }
+
+    private static List<LaidOutPage> getLaidOut(FutureTask<List<LaidOutPage>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        }
+    }
+
+    private static class LaidOutPage {
+        final PageContent content;
+        final List<PageAreaCanvas> areas;
+
+        LaidOutPage(PageContent content, List<PageAreaCanvas> areas) {
+            this.content = content;
+            this.areas = areas;
+        }
+    }
+
+    /**
+     * A canvas which is laid out without the {@link PdfCanvas} of its page. The content is drawn
+     * when the canvas is closed, after the page has been added to the document.
+     */
+    private static class PageAreaCanvas extends Canvas {
+        private final int pageNumber;
+
+        PageAreaCanvas(PdfDocument pdfDocument, Rectangle rootArea, int pageNumber) {
+            super(null, pdfDocument, rootArea, false);
+            this.pageNumber = pageNumber;
+        }
+
+        void draw(PdfPage page, PdfCanvas pdfCanvas) {
+            this.pdfCanvas = pdfCanvas;
+            if (pdfDocument.isTagged()) {
+                enableAutoTagging(page);
+            }
+            if (rootRenderer != null) {
+                close();
+            }
+        }
+
+        @Override
+        protected RootRenderer ensureRootRendererNotNull() {
+            if (rootRenderer == null) {
+                rootRenderer = new PageAreaRenderer(this, pageNumber);
+            }
+            return rootRenderer;
+        }
+    }
+
+    /**
+     * Unlike {@link CanvasRenderer}, lays out the content on the actual page number, so that the links
+     * and destinations are bound to the right page.
+     */
+    private static class PageAreaRenderer extends CanvasRenderer {
+        private final int pageNumber;
+
+        PageAreaRenderer(Canvas canvas, int pageNumber) {
+            super(canvas, false);
+            this.pageNumber = pageNumber;
+        }
+
+        @Override
+        protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
+            if (currentArea == null) {
+                currentPageNumber = pageNumber;
+                currentArea = new LayoutArea(pageNumber, canvas.getRootArea().clone());
+            } else {
+                setProperty(Property.FULL, true);
+                currentArea = null;
+            }
+            return currentArea;
+        }
+    }
+}
@@ -95,6 +95,18 @@ public class ByteVector implements Serializable {
         n = 0;
     }
 
+    /**
+     * Wraps the byte array whose elements are all in use, e.g. the one read from the compiled patterns.
+     * Unlike {@link #ByteVector(byte[])}, the length of the vector is set to the length of the array.
+     * @param a byte array to use
+     * @return byte vector instance
+     */
+    static ByteVector wrap(byte[] a) {
+        ByteVector vector = new ByteVector(a);
+        vector.n = a.length;
+        return vector;
+    }
+
     /**
      * Obtain byte vector array.
      * @return byte array
@@ -0,0 +1,148 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Compiles the XML hyphenation pattern files into the binary form, which {@link Hyphenator}
+ * loads instead of parsing the XML files. It is run when the hyph module is built, so that
+ * the compiled patterns are shipped next to the XML ones.</p>
+ *
+ * <p>Usage: {@code HyphenationPatternCompiler <source directory> <destination directory>}.</p>
+ */
+public final class HyphenationPatternCompiler {
+
+    /**
+     * The extension of the compiled pattern files.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyp";
+
+    private static final String XML_PATTERNS_EXTENSION = ".xml";
+
+    private static final Logger log = LoggerFactory.getLogger(HyphenationPatternCompiler.class);
+
+    private HyphenationPatternCompiler() {
+    }
+
+    /**
+     * Compiles all XML pattern files in the source directory.
+     *
+     * @param args the source and the destination directories
+     * @throws IOException In case of an I/O error
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: HyphenationPatternCompiler <source directory> <destination directory>");
+        }
+        int count = compile(new File(args[0]), new File(args[1]));
+        log.info("Compiled " + count + " hyphenation pattern files");
+    }
+
+    /**
+     * Compiles all XML pattern files in the source directory into the files with the same names
+     * and {@link #COMPILED_PATTERNS_EXTENSION} extension in the destination directory.
+     * The files which can't be parsed are skipped.
+     *
+     * @param sourceDirectory      the directory with the XML pattern files
+     * @param destinationDirectory the directory to write the compiled patterns to
+     * @return the number of the compiled pattern files
+     * @throws IOException In case of an I/O error
+     */
+    public static int compile(File sourceDirectory, File destinationDirectory) throws IOException {
+        File[] files = sourceDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Can't list the pattern files in " + sourceDirectory);
+        }
+        if (!destinationDirectory.isDirectory() && !destinationDirectory.mkdirs()) {
+            throw new IOException("Can't create the directory " + destinationDirectory);
+        }
+        Arrays.sort(files);
+        int count = 0;
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isFile() && name.endsWith(XML_PATTERNS_EXTENSION)) {
+                String key = name.substring(0, name.length() - XML_PATTERNS_EXTENSION.length());
+                HyphenationTree hTree = new HyphenationTree();
+                try {
+                    hTree.loadPatterns(file.getPath());
+                } catch (HyphenationException e) {
+                    // such patterns can't be loaded at runtime either, the XML file is left as the only option
+                    log.warn("Can't compile hyphenation patterns " + name + ": " + e.getMessage());
+                    continue;
+                }
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(destinationDirectory, key + COMPILED_PATTERNS_EXTENSION)));
+                try {
+                    hTree.writeCompiledPatterns(out);
+                } finally {
+                    out.close();
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compiles the XML pattern file.
+     *
+     * @param patternFile the XML pattern file
+     * @param out         the stream to write the compiled patterns to
+     * @throws IOException          In case of an I/O error
+     * @throws HyphenationException In case the pattern file can't be parsed
+     */
+    public static void compile(File patternFile, OutputStream out) throws IOException, HyphenationException {
+        HyphenationTree hTree = new HyphenationTree();
+        hTree.loadPatterns(patternFile.getPath());
+        hTree.writeCompiledPatterns(out);
+    }
+}
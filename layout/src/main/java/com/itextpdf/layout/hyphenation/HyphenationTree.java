@@ -17,11 +17,14 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +42,12 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
 
     private static final long serialVersionUID = -7842107987915665573L;
 
+    /**
+     * Marks the compiled patterns, "iThy" in ASCII.
+     */
+    private static final int COMPILED_PATTERNS_SIGNATURE = 0x69546879;
+    private static final int COMPILED_PATTERNS_VERSION = 1;
+
     /**
      * value space: stores the interletter values
      */
@@ -152,6 +161,100 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Read hyphenation patterns compiled by {@link HyphenationPatternCompiler}.
+     * The node and value arrays are copied from the buffer at once, so loading the compiled patterns
+     * is much faster than parsing the XML file.
+     * @param buffer the buffer with the compiled patterns
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the data are not the compiled patterns of the supported version
+     */
+    public void loadCompiledPatterns(ByteBuffer buffer, String name) throws HyphenationException {
+        try {
+            if (buffer.getInt() != COMPILED_PATTERNS_SIGNATURE || buffer.getInt() != COMPILED_PATTERNS_VERSION) {
+                throw new HyphenationException(name + " doesn't contain compiled hyphenation patterns of the supported version");
+            }
+            readCompiled(buffer);
+            classmap.readCompiled(buffer);
+            byte[] values = new byte[buffer.getInt()];
+            buffer.get(values);
+            vspace = ByteVector.wrap(values);
+            int exceptionsCount = buffer.getInt();
+            stoplist = new HashMap<>(exceptionsCount);
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = readString(buffer);
+                int size = buffer.getInt();
+                ArrayList<Object> hyphenatedWord = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    if (buffer.get() == 0) {
+                        hyphenatedWord.add(readString(buffer));
+                    } else {
+                        hyphenatedWord.add(new Hyphen(readString(buffer), readString(buffer), readString(buffer)));
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+        } catch (RuntimeException e) {
+            throw new HyphenationException(name + " contains corrupted compiled hyphenation patterns: " + e);
+        }
+    }
+
+    /**
+     * Write the loaded patterns in the binary form, which can be read by
+     * {@link #loadCompiledPatterns(ByteBuffer, String)}.
+     * @param stream the stream to write the patterns to
+     * @throws IOException In case of an I/O error
+     */
+    public void writeCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(COMPILED_PATTERNS_SIGNATURE);
+        out.writeInt(COMPILED_PATTERNS_VERSION);
+        writeCompiled(out);
+        classmap.writeCompiled(out);
+        // the value space is trimmed once the patterns are loaded, so the whole array is written
+        byte[] values = vspace.getArray();
+        out.writeInt(values.length);
+        out.write(values);
+        // sort the exceptions, so that the same patterns are always compiled to the same bytes
+        List<String> words = new ArrayList<>(stoplist.keySet());
+        Collections.sort(words);
+        out.writeInt(words.size());
+        for (String word : words) {
+            writeString(out, word);
+            List<?> hyphenatedWord = stoplist.get(word);
+            out.writeInt(hyphenatedWord.size());
+            for (Object o : hyphenatedWord) {
+                if (o instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) o;
+                    out.writeByte(1);
+                    writeString(out, hyphen.preBreak);
+                    writeString(out, hyphen.noBreak);
+                    writeString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(0);
+                    writeString(out, (String) o);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            writeChars(out, str.toCharArray(), str.length());
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        if (in.getInt(in.position()) == -1) {
+            in.getInt();
+            return null;
+        }
+        return new String(readChars(in));
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -18,11 +18,13 @@
 package com.itextpdf.layout.hyphenation;
 
 import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -205,7 +207,15 @@ public final class Hyphenator {
         }
 
         if (hTree == null) {
-            // get from the default directory
+            // get from the default directory, the compiled patterns are preferred
+            InputStream compiledHyphenationResourceStream = ResourceUtil.getResourceStream(
+                    HYPHENATION_DEFAULT_RESOURCE + key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+            if (compiledHyphenationResourceStream != null) {
+                hTree = getCompiledHyphenationTree(compiledHyphenationResourceStream, key);
+            }
+        }
+
+        if (hTree == null) {
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
@@ -228,6 +238,21 @@ public final class Hyphenator {
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first
+        File compiledFile = new File(searchDirectory, key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(new FileInputStream(compiledFile), compiledFile.getName());
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledFile.getName() + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -269,6 +294,40 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the stream with the patterns compiled by {@link HyphenationPatternCompiler}.
+     * The stream is read at once and the tree arrays are copied from the read data,
+     * no patterns are parsed or inserted.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        HyphenationTree hTree;
+        try {
+            hTree = new HyphenationTree();
+            hTree.loadCompiledPatterns(ByteBuffer.wrap(StreamUtil.inputStreamToArray(in)), name);
+        }
+        catch (IOException ex) {
+            log.error("Can't read compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+        return hTree;
+    }
+
     /**
      * Hyphenates a word.
      *
@@ -17,7 +17,10 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 /**
@@ -514,5 +517,52 @@ public class TernaryTree implements Serializable {
     public Enumeration keys() {
         return new TernaryTreeIterator(this);
     }
+
+    /**
+     * Writes the node arrays and the key array in the binary form,
+     * which is read back by {@link #readCompiled(ByteBuffer)}.
+     * @param out the output to write the tree to
+     * @throws IOException in case of an I/O error
+     */
+    void writeCompiled(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        writeChars(out, lo, lo.length);
+        writeChars(out, hi, hi.length);
+        writeChars(out, eq, eq.length);
+        writeChars(out, sc, sc.length);
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Reads the tree written by {@link #writeCompiled(DataOutputStream)}.
+     * The arrays are filled with bulk copies, no keys are inserted.
+     * @param in the buffer positioned at the start of the tree
+     */
+    void readCompiled(ByteBuffer in) {
+        root = in.getChar();
+        freenode = in.getChar();
+        length = in.getInt();
+        lo = readChars(in);
+        hi = readChars(in);
+        eq = readChars(in);
+        sc = readChars(in);
+        kv = new CharVector(readChars(in));
+    }
+
+    static void writeChars(DataOutputStream out, char[] a, int len) throws IOException {
+        out.writeInt(len);
+        for (int i = 0; i < len; i++) {
+            out.writeChar(a[i]);
+        }
+    }
+
+    static char[] readChars(ByteBuffer in) {
+        char[] a = new char[in.getInt()];
+        in.asCharBuffer().get(a);
+        in.position(in.position() + 2 * a.length);
+        return a;
+    }
 }
 
@@ -0,0 +1,312 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The storage of the properties of layout elements and renderers. The values are kept in an array indexed by
+ * the {@link Property} id, so getting a property doesn't involve hashing or walking the hash chains, and copying
+ * the properties of a renderer on split is a single array copy. The keys which are not {@link Property} ids,
+ * i.e. negative or too big ones, are kept in a {@link HashMap}.
+ * <br/>
+ * Like {@link HashMap}, the map permits {@code null} values: a property explicitly set to {@code null}
+ * is contained in the map.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int MAX_DENSE_KEY = 255;
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    // the slot value for the properties which are set to null
+    private static final Object NULL_VALUE = new Object();
+
+    private Object[] values = EMPTY_VALUES;
+    private Map<Integer, Object> otherValues;
+    private int denseSize;
+
+    private transient Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty property map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a property map with the same properties as the given map.
+     *
+     * @param properties the properties to be copied.
+     */
+    public PropertyMap(Map<Integer, ?> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param property the property id.
+     * @return the value, or {@code null} if the property is not set or is set to {@code null}.
+     */
+    public Object get(int property) {
+        if (property >= 0 && property < values.length) {
+            Object value = values[property];
+            return value != NULL_VALUE ? value : null;
+        }
+        return otherValues != null && isOtherKey(property) ? otherValues.get(property) : null;
+    }
+
+    /**
+     * Checks if the property is set, possibly to {@code null}.
+     *
+     * @param property the property id.
+     * @return true if the property is set.
+     */
+    public boolean containsKey(int property) {
+        if (property >= 0 && property < values.length) {
+            return values[property] != null;
+        }
+        return otherValues != null && isOtherKey(property) && otherValues.containsKey(property);
+    }
+
+    private Object putValue(int property, Object value) {
+        if (isOtherKey(property)) {
+            if (otherValues == null) {
+                otherValues = new HashMap<>();
+            }
+            return otherValues.put(property, value);
+        }
+        if (property >= values.length) {
+            Object[] newValues = new Object[Math.min(MAX_DENSE_KEY + 1, Math.max(property + 1, values.length * 2))];
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            values = newValues;
+        }
+        Object old = values[property];
+        values[property] = value != null ? value : NULL_VALUE;
+        if (old == null) {
+            denseSize++;
+        }
+        return old != NULL_VALUE ? old : null;
+    }
+
+    /**
+     * Removes the property.
+     *
+     * @param property the property id.
+     * @return the previous value of the property.
+     */
+    public Object remove(int property) {
+        if (property >= 0 && property < values.length) {
+            Object old = values[property];
+            if (old == null) {
+                return null;
+            }
+            values[property] = null;
+            denseSize--;
+            return old != NULL_VALUE ? old : null;
+        }
+        return otherValues != null && isOtherKey(property) ? otherValues.remove(property) : null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return putValue((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            if (denseSize == 0 && values.length <= other.values.length) {
+                values = other.values.clone();
+                denseSize = other.denseSize;
+            } else {
+                for (int i = 0; i < other.values.length; i++) {
+                    if (other.values[i] != null) {
+                        putValue(i, other.values[i] != NULL_VALUE ? other.values[i] : null);
+                    }
+                }
+            }
+            if (other.otherValues != null) {
+                if (otherValues == null) {
+                    otherValues = new HashMap<>();
+                }
+                otherValues.putAll(other.otherValues);
+            }
+        } else {
+            for (Map.Entry<? extends Integer, ?> entry : properties.entrySet()) {
+                putValue((int) entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return denseSize + (otherValues != null ? otherValues.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        values = EMPTY_VALUES;
+        denseSize = 0;
+        otherValues = null;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, Object>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return PropertyMap.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static boolean isOtherKey(int property) {
+        return property < 0 || property > MAX_DENSE_KEY;
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int nextIndex = -1;
+        private int lastIndex = -1;
+        private Iterator<Map.Entry<Integer, Object>> otherIterator;
+
+        EntryIterator() {
+            nextIndex = findNextIndex(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextIndex < values.length) {
+                return true;
+            }
+            if (otherIterator == null && otherValues != null) {
+                otherIterator = otherValues.entrySet().iterator();
+            }
+            return otherIterator != null && otherIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (nextIndex < values.length) {
+                lastIndex = nextIndex;
+                nextIndex = findNextIndex(nextIndex + 1);
+                Object value = values[lastIndex];
+                return new PropertyEntry(lastIndex, value != NULL_VALUE ? value : null);
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = -1;
+            return otherIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex >= 0) {
+                if (values[lastIndex] == null) {
+                    throw new IllegalStateException();
+                }
+                values[lastIndex] = null;
+                denseSize--;
+            } else if (otherIterator != null) {
+                otherIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int findNextIndex(int from) {
+            int index = from;
+            while (index < values.length && values[index] == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private class PropertyEntry extends SimpleEntry<Integer, Object> {
+        private static final long serialVersionUID = 2384757613870290738L;
+
+        PropertyEntry(int property, Object value) {
+            super(property, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            PropertyMap.this.putValue((int) getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
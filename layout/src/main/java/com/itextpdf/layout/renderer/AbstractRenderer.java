@@ -66,6 +66,7 @@ import com.itextpdf.layout.layout.LayoutPosition;
 import com.itextpdf.layout.property.Background;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.UnitValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,7 +75,6 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -102,7 +102,7 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
     /**
@@ -304,8 +304,7 @@ public abstract class AbstractRenderer implements IRenderer {
      * @return a {@link Float}
      */
     public Float getPropertyAsFloat(int property) {
-        Number value = this.<Number>getProperty(property);
-        return value != null ? value.floatValue() : null;
+        return toFloat(this.<Number>getProperty(property));
     }
 
     /**
@@ -316,7 +315,14 @@ public abstract class AbstractRenderer implements IRenderer {
      * @return a {@link Float}
      */
     public Float getPropertyAsFloat(int property, Float defaultValue) {
-        Number value = this.<Number>getProperty(property, defaultValue);
+        return toFloat(this.<Number>getProperty(property, defaultValue));
+    }
+
+    private static Float toFloat(Number value) {
+        // avoid boxing the value once again, if it's already a Float
+        if (value instanceof Float) {
+            return (Float) value;
+        }
         return value != null ? value.floatValue() : null;
     }
 
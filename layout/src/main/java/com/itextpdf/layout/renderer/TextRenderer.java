@@ -49,6 +49,7 @@ import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
 import com.itextpdf.kernel.color.Color;
+import com.itextpdf.kernel.font.GlyphLineCache;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfType0Font;
 import com.itextpdf.kernel.geom.Rectangle;
@@ -411,6 +412,8 @@ public class TextRenderer extends AbstractRenderer {
     }
 
     public void applyOtf() {
+        // if the text is converted right now, the whole glyph line is shaped and the result could be cached
+        String unshapedText = strToBeConverted;
         convertWaitingStringToGlyphLine();
         Character.UnicodeScript script = this.<Character.UnicodeScript>getProperty(Property.FONT_SCRIPT);
         if (!otfFeaturesApplied) {
@@ -448,15 +451,35 @@ public class TextRenderer extends AbstractRenderer {
             }
 
             PdfFont font = getPropertyAsFont(Property.FONT);
-            if (isOtfFont(font) && script != null) {
+            boolean applyScript = isOtfFont(font) && script != null;
+            FontKerning fontKerning = this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            boolean applyKerning = fontKerning == FontKerning.YES;
+
+            GlyphLineCache cache = unshapedText != null && TypographyUtils.isTypographyModuleInitialized() ? font.getGlyphLineCache() : null;
+            String features = null;
+            if (cache != null && (applyScript || applyKerning)) {
+                features = (applyScript ? script.name() : "") + (applyKerning ? " kern" : "");
+                GlyphLine shapedText = cache.get(unshapedText, features);
+                if (shapedText != null) {
+                    setText(shapedText, shapedText.start, shapedText.end);
+                    applyScript = false;
+                    applyKerning = false;
+                    features = null;
+                }
+            }
+
+            if (applyScript) {
                 TypographyUtils.applyOtfScript(font.getFontProgram(), text, script);
             }
 
-            FontKerning fontKerning = this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
-            if (fontKerning == FontKerning.YES) {
+            if (applyKerning) {
                 TypographyUtils.applyKerning(font.getFontProgram(), text);
             }
 
+            if (features != null) {
+                cache.put(unshapedText, features, text);
+            }
+
             otfFeaturesApplied = true;
         }
     }
@@ -837,7 +860,7 @@ public class TextRenderer extends AbstractRenderer {
 
     private GlyphLine convertToGlyphLine(String text) {
         PdfFont font = getPropertyAsFont(Property.FONT);
-        return font.createGlyphLine(text);
+        return font.createCachedGlyphLine(text);
     }
 
     private boolean isOtfFont(PdfFont font) {
@@ -58,9 +58,9 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,8 +91,8 @@ class TypographyUtils {
     private static final Collection<Character.UnicodeScript> SUPPORTED_SCRIPTS;
     private static final boolean TYPOGRAPHY_MODULE_INITIALIZED;
 
-    private static Map<String, Class<?>> cachedClasses = new HashMap<>();
-    private static Map<TypographyMethodSignature, AccessibleObject> cachedMethods = new HashMap<>();
+    private static Map<String, Class<?>> cachedClasses = new ConcurrentHashMap<>();
+    private static Map<TypographyMethodSignature, AccessibleObject> cachedMethods = new ConcurrentHashMap<>();
 
     static {
         boolean moduleFound = false;
@@ -0,0 +1,119 @@
+package com.itextpdf.layout;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.action.PdfAction;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.Link;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelPageLayoutTest extends ExtendedITextTest {
+
+    private static final Rectangle leftLabel = new Rectangle(36, 436, 250, 370);
+    private static final Rectangle rightLabel = new Rectangle(309, 436, 250, 370);
+
+    @Test
+    public void parallelLayoutTest() throws IOException {
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(parallel));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new ParallelPageLayout(pdfDocument).setPagesPerTask(3).setMaxPendingTasks(2).setFontSize(10)
+                    .addPages(createPages(50), executor);
+        } finally {
+            executor.shutdown();
+        }
+        pdfDocument.close();
+
+        ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        pdfDocument = new PdfDocument(new PdfWriter(sequential));
+        for (PageContent content : createPages(50)) {
+            PdfPage page = pdfDocument.addNewPage(content.getPageSize());
+            for (int i = 0; i < content.getAreas().size(); i++) {
+                Canvas canvas = new Canvas(new PdfCanvas(page), pdfDocument, content.getAreas().get(i));
+                canvas.setFontSize(10);
+                for (Object element : content.getElements(i)) {
+                    canvas.add((Paragraph) element);
+                }
+                canvas.close();
+            }
+        }
+        pdfDocument.close();
+
+        PdfDocument parallelDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(parallel.toByteArray())));
+        PdfDocument sequentialDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(sequential.toByteArray())));
+        Assert.assertEquals(50, parallelDocument.getNumberOfPages());
+        for (int pageNum = 1; pageNum <= 50; pageNum++) {
+            String text = PdfTextExtractor.getTextFromPage(parallelDocument.getPage(pageNum));
+            Assert.assertTrue(text.contains("Label " + (2 * pageNum - 1)));
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(sequentialDocument.getPage(pageNum)), text);
+        }
+        parallelDocument.close();
+        sequentialDocument.close();
+    }
+
+    @Test
+    public void pagesAreAppendedTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.addNewPage();
+        pdfDocument.addNewPage();
+        List<PageContent> pages = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            pages.add(new PageContent(PageSize.A5).add(leftLabel,
+                    new Paragraph().add(new Link("Link " + i, PdfAction.createURI("http://itextpdf.com/" + i)))));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new ParallelPageLayout(pdfDocument).setPagesPerTask(1).setImmediateFlush(false).addPages(pages, executor);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(12, pdfDocument.getNumberOfPages());
+        Assert.assertTrue(pdfDocument.getPage(1).getAnnotations().isEmpty());
+        for (int pageNum = 3; pageNum <= 12; pageNum++) {
+            PdfPage page = pdfDocument.getPage(pageNum);
+            Assert.assertEquals(PageSize.A5.getHeight(), page.getPageSize().getHeight(), 0);
+            Assert.assertEquals(1, page.getAnnotations().size());
+            Assert.assertEquals("http://itextpdf.com/" + (pageNum - 2), page.getAnnotations().get(0).getPdfObject()
+                    .getAsDictionary(PdfName.A).getAsString(PdfName.URI).toUnicodeString());
+        }
+        pdfDocument.close();
+    }
+
+    private static List<PageContent> createPages(int count) {
+        List<PageContent> pages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PageContent page = new PageContent(PageSize.A4);
+            for (int label = 1; label <= 2; label++) {
+                Rectangle area = label == 1 ? leftLabel : rightLabel;
+                page.add(area, new Paragraph("Label " + (2 * i + label)).setBold());
+                page.add(area, new Paragraph("Dear customer, this is the text of the letter number " + (2 * i + label)
+                        + ", which is long enough to be split into several lines by the layout of the label."));
+            }
+            pages.add(page);
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,59 @@
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class HyphenationPatternCompilerTest extends ExtendedITextTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/layout/hyphenation/HyphenationPatternCompilerTest/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/hyphenation/HyphenationPatternCompilerTest/";
+
+    private static final String[] words = {"international", "nationalities", "PATTERN", "compiler", "alternation", "bandana"};
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void compiledPatternsTest() throws IOException {
+        Assert.assertEquals(1, HyphenationPatternCompiler.compile(new File(sourceFolder), new File(destinationFolder)));
+        Assert.assertTrue(new File(destinationFolder + "xx" + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION).isFile());
+
+        HyphenationTree xmlTree = Hyphenator.getHyphenationTree(new FileInputStream(sourceFolder + "xx.xml"), "xx");
+        HyphenationTree compiledTree = Hyphenator.getHyphenationTree(destinationFolder, "xx");
+        Assert.assertNotNull(xmlTree);
+        Assert.assertNotNull(compiledTree);
+        Assert.assertEquals(xmlTree.vspace.length(), compiledTree.vspace.length());
+        for (String word : words) {
+            Hyphenation expected = xmlTree.hyphenate(word, 2, 2);
+            Hyphenation actual = compiledTree.hyphenate(word, 2, 2);
+            Assert.assertNotNull(word, expected);
+            Assert.assertEquals(word, expected.toString(), actual.toString());
+        }
+        Assert.assertEquals("pat-tern", compiledTree.hyphenate("pattern", 2, 2).toString());
+    }
+
+    @Test(expected = HyphenationException.class)
+    public void notCompiledPatternsTest() throws IOException, HyphenationException {
+        FileInputStream xml = new FileInputStream(sourceFolder + "xx.xml");
+        byte[] bytes = new byte[64];
+        try {
+            Assert.assertEquals(bytes.length, xml.read(bytes));
+        } finally {
+            xml.close();
+        }
+        new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(bytes), "xx.xml");
+    }
+}
@@ -0,0 +1,80 @@
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        Assert.assertNull(properties.put(Property.FONT_SIZE, 12f));
+        Assert.assertNull(properties.put(Property.BORDER, null));
+        Assert.assertNull(properties.put(-5, "custom"));
+        Assert.assertNull(properties.put(1000, "custom"));
+        Assert.assertEquals(4, properties.size());
+
+        Assert.assertEquals(12f, properties.get(Property.FONT_SIZE));
+        Assert.assertNull(properties.get(Property.BORDER));
+        Assert.assertTrue(properties.containsKey(Property.BORDER));
+        Assert.assertFalse(properties.containsKey(Property.FONT));
+        Assert.assertEquals("custom", properties.get((Object) 1000));
+
+        Assert.assertEquals(12f, properties.put(Property.FONT_SIZE, 14f));
+        Assert.assertNull(properties.remove(Property.BORDER));
+        Assert.assertFalse(properties.containsKey(Property.BORDER));
+        Assert.assertEquals("custom", properties.remove(-5));
+        Assert.assertEquals(2, properties.size());
+    }
+
+    @Test
+    public void copyTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.FONT_SIZE, 12f);
+        properties.put(Property.BORDER, null);
+        properties.put(1000, "custom");
+
+        Map<Integer, Object> expected = new HashMap<>();
+        expected.put(Property.FONT_SIZE, 12f);
+        expected.put(Property.BORDER, null);
+        expected.put(1000, "custom");
+        Assert.assertEquals(expected, properties);
+        Assert.assertEquals(expected, new PropertyMap(properties));
+        Assert.assertEquals(expected, new PropertyMap(expected));
+
+        PropertyMap copy = new PropertyMap(properties);
+        copy.put(Property.FONT_SIZE, 10f);
+        Assert.assertEquals(12f, properties.get(Property.FONT_SIZE));
+
+        PropertyMap merged = new PropertyMap();
+        merged.put(Property.FONT, "font");
+        merged.putAll(properties);
+        Assert.assertEquals(4, merged.size());
+        Assert.assertEquals("font", merged.get(Property.FONT));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.FONT_SIZE, 12f);
+        properties.put(Property.FONT, "font");
+        properties.put(1000, "custom");
+        Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().getKey().equals(Property.FONT_SIZE)) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(1, properties.size());
+        Assert.assertTrue(properties.containsKey(Property.FONT_SIZE));
+    }
+}
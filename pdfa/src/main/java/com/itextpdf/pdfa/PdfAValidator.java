@@ -0,0 +1,203 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfCatalog;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.pdfa.checker.PdfA1Checker;
+import com.itextpdf.pdfa.checker.PdfA2Checker;
+import com.itextpdf.pdfa.checker.PdfA3Checker;
+import com.itextpdf.pdfa.checker.PdfAChecker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Validates an existing document, opened in reading mode, against the PDF/A standard.
+ * <br/>
+ * The document-wide requirements are checked on the calling thread. The pages are split into batches,
+ * each of them is checked by its own {@link PdfAChecker} on the given {@link Executor}, so the pages of a
+ * large document could be checked in parallel. Unlike {@link PdfADocument}, which stops at the first violation,
+ * the validator collects the violations: at most one per page and one for the document-wide requirements.
+ * <br/>
+ * Note that the content streams are not parsed, so the requirements to the operators used in them
+ * (e.g. graphics state stack depth or inline images) are not checked.
+ */
+public class PdfAValidator {
+
+    private static final int DEFAULT_PAGES_PER_TASK = 16;
+
+    private final PdfDocument pdfDocument;
+    private final PdfAConformanceLevel conformanceLevel;
+    private int pagesPerTask = DEFAULT_PAGES_PER_TASK;
+
+    /**
+     * Creates a validator for the document, which is checked against the conformance level declared
+     * in its XMP metadata.
+     *
+     * @param pdfDocument the document opened in reading mode
+     * @throws PdfAConformanceException if the document doesn't declare the PDF/A conformance level
+     */
+    public PdfAValidator(PdfDocument pdfDocument) {
+        this(pdfDocument, pdfDocument.getReader() != null ? pdfDocument.getReader().getPdfAConformanceLevel() : null);
+    }
+
+    /**
+     * Creates a validator for the document, which is checked against the given conformance level.
+     *
+     * @param pdfDocument the document opened in reading mode
+     * @param conformanceLevel the conformance level to check the document against
+     */
+    public PdfAValidator(PdfDocument pdfDocument, PdfAConformanceLevel conformanceLevel) {
+        if (conformanceLevel == null) {
+            throw new PdfAConformanceException(PdfAConformanceException.DocumentToReadFromShallBeAPdfAConformantFileWithValidXmpMetadata);
+        }
+        this.pdfDocument = pdfDocument;
+        this.conformanceLevel = conformanceLevel;
+    }
+
+    /**
+     * Sets the number of pages which are checked by one task. The default value is 16.
+     *
+     * @param pagesPerTask the number of pages in a batch
+     * @return this {@code PdfAValidator} instance.
+     */
+    public PdfAValidator setPagesPerTask(int pagesPerTask) {
+        if (pagesPerTask < 1) {
+            throw new IllegalArgumentException("The number of pages per task must be a positive integer");
+        }
+        this.pagesPerTask = pagesPerTask;
+        return this;
+    }
+
+    /**
+     * Validates the document.
+     *
+     * @param executor the executor on which the pages are checked
+     * @return the list of the found violations, the document-wide one first, then in the order of pages.
+     * The same violation found on different pages is listed once. The list is empty if the document conforms
+     * to the standard.
+     */
+    public List<PdfAConformanceException> validate(Executor executor) {
+        final PdfCatalog catalog = pdfDocument.getCatalog();
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        List<FutureTask<List<PdfAConformanceException>>> tasks = new ArrayList<>();
+        for (int startPage = 1; startPage <= numberOfPages; startPage += pagesPerTask) {
+            final int firstPage = startPage;
+            final int lastPage = Math.min(startPage + pagesPerTask - 1, numberOfPages);
+            FutureTask<List<PdfAConformanceException>> task = new FutureTask<>(new Callable<List<PdfAConformanceException>>() {
+                @Override
+                public List<PdfAConformanceException> call() {
+                    PdfAChecker checker = createChecker(conformanceLevel);
+                    List<PdfAConformanceException> violations = new ArrayList<>();
+                    for (int pageNum = firstPage; pageNum <= lastPage; pageNum++) {
+                        try {
+                            checker.checkPages(catalog, pageNum, pageNum);
+                        } catch (PdfAConformanceException e) {
+                            violations.add(e);
+                        }
+                    }
+                    return violations;
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+
+        Map<String, PdfAConformanceException> violations = new LinkedHashMap<>();
+        try {
+            try {
+                createChecker(conformanceLevel).checkDocument(catalog, false);
+            } catch (PdfAConformanceException e) {
+                violations.put(e.getMessage(), e);
+            }
+            for (FutureTask<List<PdfAConformanceException>> task : tasks) {
+                for (PdfAConformanceException violation : task.get()) {
+                    if (!violations.containsKey(violation.getMessage())) {
+                        violations.put(violation.getMessage(), violation);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        } finally {
+            for (FutureTask<List<PdfAConformanceException>> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        return new ArrayList<>(violations.values());
+    }
+
+    /**
+     * Creates the checker for the given conformance level. A new checker is created for each batch of pages,
+     * since the checkers are not thread-safe.
+     *
+     * @param conformanceLevel the conformance level
+     * @return the checker
+     */
+    protected PdfAChecker createChecker(PdfAConformanceLevel conformanceLevel) {
+        switch (conformanceLevel.getPart()) {
+            case "1":
+                return new PdfA1Checker(conformanceLevel);
+            case "2":
+                return new PdfA2Checker(conformanceLevel);
+            default:
+                return new PdfA3Checker(conformanceLevel);
+        }
+    }
+}
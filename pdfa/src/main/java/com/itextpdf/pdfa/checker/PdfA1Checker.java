@@ -265,7 +265,7 @@ public class PdfA1Checker extends PdfAChecker {
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
         PdfColorSpace colorSpace = null;
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
+            colorSpace = getCheckedObjectColorspace(image);
             checkColorSpace(colorSpace, currentColorSpaces, true, null);
             return;
         }
@@ -273,7 +273,7 @@ public class PdfA1Checker extends PdfAChecker {
         if (colorSpaceObj != null) {
             colorSpace = PdfColorSpace.makeColorSpace(colorSpaceObj);
             checkColorSpace(colorSpace, currentColorSpaces, true, null);
-            checkedObjectsColorspace.put(image, colorSpace);
+            setCheckedObjectColorspace(image, colorSpace);
         }
 
         if (image.containsKey(PdfName.Alternates)) {
@@ -670,7 +670,7 @@ public class PdfA2Checker extends PdfA1Checker {
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
         PdfColorSpace colorSpace = null;
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
+            colorSpace = getCheckedObjectColorspace(image);
             checkColorSpace(colorSpace, currentColorSpaces, true, null);
             return;
         }
@@ -679,7 +679,7 @@ public class PdfA2Checker extends PdfA1Checker {
         if (colorSpaceObj != null) {
             colorSpace = PdfColorSpace.makeColorSpace(colorSpaceObj);
             checkColorSpace(colorSpace, currentColorSpaces, true, null);
-            checkedObjectsColorspace.put(image, colorSpace);
+            setCheckedObjectColorspace(image, colorSpace);
         }
 
         if (image.containsKey(PdfName.Alternates)) {
@@ -746,17 +746,17 @@ public class PdfA2Checker extends PdfA1Checker {
                                 case 1:
                                     PdfDeviceCs.Gray deviceGrayCs = new PdfDeviceCs.Gray();
                                     checkColorSpace(deviceGrayCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceGrayCs);
+                                    setCheckedObjectColorspace(image, deviceGrayCs);
                                     break;
                                 case 3:
                                     PdfDeviceCs.Rgb deviceRgbCs = new PdfDeviceCs.Rgb();
                                     checkColorSpace(deviceRgbCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceRgbCs);
+                                    setCheckedObjectColorspace(image, deviceRgbCs);
                                     break;
                                 case 12:
                                     PdfDeviceCs.Cmyk deviceCmykCs = new PdfDeviceCs.Cmyk();
                                     checkColorSpace(deviceCmykCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceCmykCs);
+                                    setCheckedObjectColorspace(image, deviceCmykCs);
                                     break;
                             }
                         }
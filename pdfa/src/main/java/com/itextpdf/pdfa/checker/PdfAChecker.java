@@ -52,6 +52,7 @@ import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfCatalog;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
@@ -61,9 +62,13 @@ import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -141,16 +146,50 @@ public abstract class PdfAChecker {
     protected boolean grayIsUsed = false;
 
     /**
-     * Contains some objects that are already checked.
-     * NOTE: Not all objects that were checked are stored in that set. This set is used for avoiding double checks for
+     * Contains the numbers of the indirect objects that are already checked.
+     * NOTE: Not all objects that were checked are marked. The marks are used for avoiding double checks for
      * actions, xObjects and page objects; and for letting those objects to be manually flushed.
      *
      * Use this mechanism carefully: objects that are able to be changed (or at least if object's properties
      * that shall be checked are able to be changed) shouldn't be marked as checked if they are not to be
      * flushed immediately.
+     *
+     * Only the objects whose indirect references are already flushed are kept here: the numbers of flushed
+     * references are never reused, while the number of a freed reference can be given to another object.
+     * The objects themselves are not kept, so that they can be released after they are flushed.
+     */
+    private final BitSet checkedObjectNumbers = new BitSet();
+    private final Map<Integer, PdfColorSpace> checkedObjectNumbersColorspace = new HashMap<>();
+
+    /**
+     * Contains the checked objects that are not flushed yet. Such objects are usually the page being flushed
+     * and its resources: when the next page is checked, the flushed ones are moved to
+     * {@link #checkedObjectNumbers}, the ones that are still not flushed are kept and the direct ones are dropped.
+     */
+    private Set<PdfObject> checkedUnflushedObjects = new HashSet<>();
+    private Map<PdfObject, PdfColorSpace> checkedUnflushedObjectsColorspace = new HashMap<>();
+
+    /**
+     * A view of the checked objects. The flushed checked objects are not kept, so they are counted by the view,
+     * but only the objects that are not flushed yet are iterated.
+     *
+     * @deprecated use {@link #objectIsChecked(PdfObject)} and {@link #isAlreadyChecked(PdfDictionary)} instead.
+     * Assigning another set to the field doesn't affect the checker.
+     */
+    @Deprecated
+    protected Set<PdfObject> checkedObjects = new CheckedObjectsView();
+
+    /**
+     * A view of the color spaces of the checked objects. The flushed checked objects are not kept, so their
+     * color spaces are counted by the view, but only the entries of the objects that are not flushed yet
+     * are iterated.
+     *
+     * @deprecated use {@link #getCheckedObjectColorspace(PdfObject)} and
+     * {@link #setCheckedObjectColorspace(PdfObject, PdfColorSpace)} instead.
+     * Assigning another map to the field doesn't affect the checker.
      */
-    protected Set<PdfObject> checkedObjects = new HashSet<>();
-    protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace = new HashMap<>();
+    @Deprecated
+    protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace = new CheckedObjectsColorspaceView();
 
     protected PdfAChecker(PdfAConformanceLevel conformanceLevel) {
         this.conformanceLevel = conformanceLevel;
@@ -165,6 +204,19 @@ public abstract class PdfAChecker {
      * @param catalog
      */
     public void checkDocument(PdfCatalog catalog) {
+        checkDocument(catalog, true);
+    }
+
+    /**
+     * This method checks a number of document-wide requirements of the PDF/A
+     * standard, like {@link #checkDocument(PdfCatalog)} does, but allows to
+     * leave the pages out. In that case the pages could be checked separately with
+     * {@link #checkPages(PdfCatalog, int, int)}, possibly by the other checkers.
+     *
+     * @param catalog the catalog of the document to be checked
+     * @param checkPages whether the pages of the document shall be checked too
+     */
+    public void checkDocument(PdfCatalog catalog, boolean checkPages) {
         PdfDictionary catalogDict = catalog.getPdfObject();
         setPdfAOutputIntentColorSpace(catalogDict);
 
@@ -175,17 +227,42 @@ public abstract class PdfAChecker {
         checkLogicalStructure(catalogDict);
         checkForm(catalogDict.getAsDictionary(PdfName.AcroForm));
         checkOutlines(catalogDict);
-        checkPages(catalog.getDocument());
+        if (checkPages) {
+            checkPages(catalog.getDocument());
+        }
         checkOpenAction(catalogDict.get(PdfName.OpenAction));
         checkColorsUsages();
     }
 
+    /**
+     * This method checks all requirements that must be fulfilled by the pages
+     * in the given range of an existing PDF/A document, including the usage of
+     * the device colors on these pages. The document-wide requirements are not
+     * checked, so the pages of one document could be split between several
+     * checkers, e.g. in order to check them in parallel.
+     *
+     * @param catalog the catalog of the document whose pages must be checked
+     * @param startPage the number of the first page to be checked
+     * @param endPage the number of the last page to be checked
+     */
+    public void checkPages(PdfCatalog catalog, int startPage, int endPage) {
+        if (pdfAOutputIntentColorSpace == null) {
+            setPdfAOutputIntentColorSpace(catalog.getPdfObject());
+        }
+        PdfDocument document = catalog.getDocument();
+        for (int i = startPage; i <= endPage; i++) {
+            checkPage(document.getPage(i));
+        }
+        checkColorsUsages();
+    }
+
     /**
      * This method checks all requirements that must be fulfilled by a page in a
      * PDF/A document.
      * @param page the page that must be checked
      */
     public void checkSinglePage(PdfPage page) {
+        releaseCheckedUnflushedObjects();
         checkPage(page);
     }
 
@@ -233,7 +310,18 @@ public abstract class PdfAChecker {
      * @return whether or not the object has already been checked
      */
     public boolean objectIsChecked(PdfObject object) {
-        return checkedObjects.contains(object);
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null && checkedObjectNumbers.get(reference.getObjNumber())) {
+            return true;
+        }
+        if (!checkedUnflushedObjects.contains(object)) {
+            return false;
+        }
+        if (object.isFlushed()) {
+            checkedUnflushedObjects.remove(object);
+            markFlushedObjectAsChecked(object, reference);
+        }
+        return true;
     }
 
     /**
@@ -245,7 +333,7 @@ public abstract class PdfAChecker {
     public void checkTagStructureElement(PdfObject obj) {
         // We don't check tag structure as there are no strict constraints,
         // so we just mark tag structure elements to be able to flush them
-        checkedObjects.add(obj);
+        markObjectAsChecked(obj);
     }
 
     /**
@@ -403,13 +491,41 @@ public abstract class PdfAChecker {
     }
 
     protected boolean isAlreadyChecked(PdfDictionary dictionary) {
-        if (checkedObjects.contains(dictionary)) {
+        if (objectIsChecked(dictionary)) {
             return true;
         }
-        checkedObjects.add(dictionary);
+        markObjectAsChecked(dictionary);
         return false;
     }
 
+    /**
+     * Gets the color space which was remembered for the already checked object.
+     *
+     * @param object the checked object, e.g. an image
+     * @return the remembered color space, or {@code null} if there is no one
+     */
+    protected PdfColorSpace getCheckedObjectColorspace(PdfObject object) {
+        PdfIndirectReference reference = object.getIndirectReference();
+        PdfColorSpace colorSpace = reference != null ? checkedObjectNumbersColorspace.get(reference.getObjNumber()) : null;
+        return colorSpace != null ? colorSpace : checkedUnflushedObjectsColorspace.get(object);
+    }
+
+    /**
+     * Remembers the color space of the checked object, so that it could be checked again in the context of
+     * other resources without checking the whole object.
+     *
+     * @param object the checked object, e.g. an image
+     * @param colorSpace the color space of the object
+     */
+    protected void setCheckedObjectColorspace(PdfObject object, PdfColorSpace colorSpace) {
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (object.isFlushed()) {
+            checkedObjectNumbersColorspace.put(reference.getObjNumber(), colorSpace);
+        } else {
+            checkedUnflushedObjectsColorspace.put(object, colorSpace);
+        }
+    }
+
     protected void checkResourcesOfAppearanceStreams(PdfDictionary appearanceStreamsDict) {
         for (PdfObject val : appearanceStreamsDict.values()) {
             if (val instanceof PdfDictionary) {
@@ -445,10 +561,50 @@ public abstract class PdfAChecker {
 
         int contentStreamCount = page.getContentStreamCount();
         for (int j = 0; j < contentStreamCount; ++j) {
-            checkedObjects.add(page.getContentStream(j));
+            markObjectAsChecked(page.getContentStream(j));
         }
     }
 
+    private void markObjectAsChecked(PdfObject object) {
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (object.isFlushed()) {
+            markFlushedObjectAsChecked(object, reference);
+        } else {
+            checkedUnflushedObjects.add(object);
+        }
+    }
+
+    private void markFlushedObjectAsChecked(PdfObject object, PdfIndirectReference reference) {
+        checkedObjectNumbers.set(reference.getObjNumber());
+        PdfColorSpace colorSpace = checkedUnflushedObjectsColorspace.remove(object);
+        if (colorSpace != null) {
+            checkedObjectNumbersColorspace.put(reference.getObjNumber(), colorSpace);
+        }
+    }
+
+    private void releaseCheckedUnflushedObjects() {
+        if (checkedUnflushedObjects.isEmpty()) {
+            return;
+        }
+        Set<PdfObject> keptObjects = new HashSet<>();
+        Map<PdfObject, PdfColorSpace> keptObjectsColorspace = new HashMap<>();
+        for (PdfObject object : checkedUnflushedObjects) {
+            PdfIndirectReference reference = object.getIndirectReference();
+            if (object.isFlushed()) {
+                markFlushedObjectAsChecked(object, reference);
+            } else if (reference != null) {
+                // a freed object loses its reference, so it is dropped here together with the direct objects
+                keptObjects.add(object);
+                PdfColorSpace colorSpace = checkedUnflushedObjectsColorspace.get(object);
+                if (colorSpace != null) {
+                    keptObjectsColorspace.put(object, colorSpace);
+                }
+            }
+        }
+        checkedUnflushedObjects = keptObjects;
+        checkedUnflushedObjectsColorspace = keptObjectsColorspace;
+    }
+
     private void checkOpenAction(PdfObject openAction) {
         if (openAction != null && openAction.isDictionary()) {
             checkAction((PdfDictionary) openAction);
@@ -526,4 +682,97 @@ public abstract class PdfAChecker {
             }
         }
     }
+
+    private class CheckedObjectsView extends AbstractSet<PdfObject> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof PdfObject && objectIsChecked((PdfObject) o);
+        }
+
+        @Override
+        public boolean add(PdfObject object) {
+            if (objectIsChecked(object)) {
+                return false;
+            }
+            markObjectAsChecked(object);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            PdfIndirectReference reference = ((PdfObject) o).getIndirectReference();
+            if (reference != null) {
+                checkedObjectNumbers.clear(reference.getObjNumber());
+            }
+            checkedUnflushedObjects.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            checkedObjectNumbers.clear();
+            checkedUnflushedObjects.clear();
+        }
+
+        @Override
+        public Iterator<PdfObject> iterator() {
+            return checkedUnflushedObjects.iterator();
+        }
+
+        @Override
+        public int size() {
+            return checkedObjectNumbers.cardinality() + checkedUnflushedObjects.size();
+        }
+    }
+
+    private class CheckedObjectsColorspaceView extends AbstractMap<PdfObject, PdfColorSpace> {
+        @Override
+        public PdfColorSpace get(Object key) {
+            return key instanceof PdfObject ? getCheckedObjectColorspace((PdfObject) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public PdfColorSpace put(PdfObject key, PdfColorSpace value) {
+            PdfColorSpace previous = getCheckedObjectColorspace(key);
+            setCheckedObjectColorspace(key, value);
+            return previous;
+        }
+
+        @Override
+        public PdfColorSpace remove(Object key) {
+            PdfColorSpace previous = get(key);
+            if (previous != null) {
+                PdfIndirectReference reference = ((PdfObject) key).getIndirectReference();
+                if (reference != null) {
+                    checkedObjectNumbersColorspace.remove(reference.getObjNumber());
+                }
+                checkedUnflushedObjectsColorspace.remove(key);
+            }
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            checkedObjectNumbersColorspace.clear();
+            checkedUnflushedObjectsColorspace.clear();
+        }
+
+        @Override
+        public int size() {
+            return checkedObjectNumbersColorspace.size() + checkedUnflushedObjectsColorspace.size();
+        }
+
+        @Override
+        public Set<Entry<PdfObject, PdfColorSpace>> entrySet() {
+            return checkedUnflushedObjectsColorspace.entrySet();
+        }
+    }
 }
@@ -6,11 +6,14 @@ import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ITextTest;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
+import com.itextpdf.kernel.pdf.colorspace.PdfDeviceCs;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfOutputIntent;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
@@ -19,10 +22,13 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import com.itextpdf.kernel.xmp.XMPException;
+import com.itextpdf.pdfa.checker.PdfA2Checker;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -111,6 +117,32 @@ public class PdfAFlushingTest extends ITextTest{
         compareResult(outPdf, cmpPdf);
     }
 
+    @Test
+    public void flushingTest04() throws IOException, XMPException, InterruptedException {
+        String outPdf = destinationFolder + "pdfA2b_flushingTest04.pdf";
+
+        PdfWriter writer = new PdfWriter(outPdf);
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfADocument doc = new PdfADocument(writer, PdfAConformanceLevel.PDF_A_2B, new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is));
+        PdfImageXObject imageXObject = new PdfImageXObject(ImageDataFactory.create(sourceFolder + "Desert.jpg"));
+        for (int i = 0; i < 3; i++) {
+            PdfPage page = doc.addNewPage();
+            new PdfCanvas(page).addXObject(imageXObject, new Rectangle(30, 300, 300, 300));
+            page.flush(true);
+            if (!page.isFlushed() || !imageXObject.isFlushed()) {
+                fail("Checked page and the image, which is shared between pages, shall be flushed.");
+            }
+        }
+        doc.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outPdf));
+        assertEquals(3, resultDocument.getNumberOfPages());
+        PdfDictionary firstPageXObjects = resultDocument.getPage(1).getResources().getResource(PdfName.XObject);
+        PdfDictionary lastPageXObjects = resultDocument.getPage(3).getResources().getResource(PdfName.XObject);
+        assertEquals(firstPageXObjects.get(new PdfName("Im1")), lastPageXObjects.get(new PdfName("Im1")));
+        resultDocument.close();
+    }
+
     @Test
     public void addUnusedStreamObjectsTest() throws IOException, InterruptedException, XMPException {
         String outPdf = destinationFolder + "pdfA1b_docWithUnusedObjects_3.pdf";
@@ -148,4 +180,87 @@ public class PdfAFlushingTest extends ITextTest{
             fail(differences);
         }
     }
+
+    @Test
+    public void deprecatedCheckedObjectsViewTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        PdfDictionary indirect = new PdfDictionary();
+        indirect.makeIndirect(pdfDocument);
+        PdfDictionary direct = new PdfDictionary();
+        PdfColorSpace colorSpace = new PdfDeviceCs.Rgb();
+
+        LegacyChecker checker = new LegacyChecker();
+        assertTrue(checker.markChecked(indirect));
+        assertFalse(checker.markChecked(indirect));
+        assertTrue(checker.markChecked(direct));
+        assertTrue(checker.objectIsChecked(indirect));
+        assertTrue(checker.objectIsChecked(direct));
+        assertTrue(checker.unmarkChecked(indirect));
+        assertFalse(checker.objectIsChecked(indirect));
+
+        checker.rememberColorspace(indirect, colorSpace);
+        assertSame(colorSpace, checker.getColorspace(indirect));
+
+        assertEquals(1, checker.getCheckedObjects().size());
+        assertFalse(checker.getCheckedObjects().isEmpty());
+        assertNotNull(checker.getCheckedObjects().toString());
+        assertEquals(1, checker.getCheckedObjectsColorspace().size());
+        assertSame(colorSpace, checker.getCheckedObjectsColorspace().remove(indirect));
+        assertNull(checker.getColorspace(indirect));
+
+        checker.getCheckedObjects().clear();
+        assertTrue(checker.getCheckedObjects().isEmpty());
+        assertFalse(checker.objectIsChecked(direct));
+    }
+
+    @Test
+    public void checkedObjectNumberReuseTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        PdfDictionary freed = new PdfDictionary();
+        freed.makeIndirect(pdfDocument);
+        int objNumber = freed.getIndirectReference().getObjNumber();
+
+        LegacyChecker checker = new LegacyChecker();
+        assertTrue(checker.markChecked(freed));
+        freed.getIndirectReference().setFree();
+
+        PdfDictionary reused = new PdfDictionary();
+        reused.makeIndirect(pdfDocument);
+        assertEquals(objNumber, reused.getIndirectReference().getObjNumber());
+        assertFalse(checker.objectIsChecked(reused));
+    }
+
+    /**
+     * A checker which uses the deprecated protected fields, as third-party checkers may do.
+     */
+    @SuppressWarnings("deprecation")
+    private static class LegacyChecker extends PdfA2Checker {
+        LegacyChecker() {
+            super(PdfAConformanceLevel.PDF_A_2B);
+        }
+
+        boolean markChecked(PdfObject object) {
+            return checkedObjects.add(object);
+        }
+
+        boolean unmarkChecked(PdfObject object) {
+            return checkedObjects.remove(object);
+        }
+
+        void rememberColorspace(PdfObject object, PdfColorSpace colorSpace) {
+            checkedObjectsColorspace.put(object, colorSpace);
+        }
+
+        PdfColorSpace getColorspace(PdfObject object) {
+            return getCheckedObjectColorspace(object);
+        }
+
+        Set<PdfObject> getCheckedObjects() {
+            return checkedObjects;
+        }
+
+        Map<PdfObject, PdfColorSpace> getCheckedObjectsColorspace() {
+            return checkedObjectsColorspace;
+        }
+    }
 }
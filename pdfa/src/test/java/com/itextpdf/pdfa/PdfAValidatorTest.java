@@ -0,0 +1,89 @@
+package com.itextpdf.pdfa;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfOutputIntent;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.annot.PdfFileAttachmentAnnotation;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfAValidatorTest extends ExtendedITextTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/pdfa/";
+
+    @Test
+    public void validateConformingDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfADocument pdfADocument = new PdfADocument(new PdfWriter(baos), PdfAConformanceLevel.PDF_A_2B,
+                new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm")));
+        PdfFont font = PdfFontFactory.createFont(sourceFolder + "FreeSans.ttf", "WinAnsi", true);
+        for (int i = 1; i <= 40; i++) {
+            new PdfCanvas(pdfADocument.addNewPage()).beginText().setFontAndSize(font, 12).moveText(36, 700).showText("Page " + i).endText();
+        }
+        pdfADocument.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<PdfAConformanceException> violations = new PdfAValidator(pdfDocument).setPagesPerTask(3).validate(executor);
+            Assert.assertTrue(violations.isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void validateNonConformingDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        for (int i = 1; i <= 40; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            if (i % 10 == 0) {
+                page.addAnnotation(new PdfFileAttachmentAnnotation(new Rectangle(100, 650, 400, 100)));
+            }
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<PdfAConformanceException> violations = new PdfAValidator(pdfDocument, PdfAConformanceLevel.PDF_A_2B).validate(executor);
+            Assert.assertEquals(2, violations.size());
+            Assert.assertEquals(PdfAConformanceException.AnAnnotationDictionaryShallContainTheFKey, violations.get(1).getMessage());
+        } finally {
+            executor.shutdown();
+        }
+        pdfDocument.close();
+    }
+
+    @Test(expected = PdfAConformanceException.class)
+    public void validateDocumentWithoutConformanceLevelTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.addNewPage();
+        pdfDocument.close();
+
+        new PdfAValidator(new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()))));
+    }
+}